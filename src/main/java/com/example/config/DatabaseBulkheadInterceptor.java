@@ -0,0 +1,62 @@
+package com.example.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Ограничивает число соединений с базой данных, одновременно занятых запросами ко всем конечным
+ * точкам. Общий лимит по умолчанию равен размеру пула соединений, поэтому при работе на виртуальных
+ * потоках лишние запросы ожидают своей очереди на семафоре, а не в пуле соединений, где ожидание
+ * ограничено connection-timeout. Запрос получает столько разрешений, сколько соединений занимает
+ * его обработчик (DatabaseConnections), но не больше общего лимита.
+ */
+@Component
+public class DatabaseBulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DatabaseBulkheadInterceptor.class.getName() + ".permit";
+
+    private final int maxConcurrentRequests;
+    private final Semaphore bulkhead;
+
+    public DatabaseBulkheadInterceptor(
+            @Value("${app.bulkhead.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.bulkhead = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        int permits = getPermits(handler);
+        bulkhead.acquire(permits);
+        request.setAttribute(PERMIT_ATTRIBUTE, permits);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object permits = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permits instanceof Integer count) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release(count);
+        }
+    }
+
+    private int getPermits(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            DatabaseConnections connections = method.getMethodAnnotation(DatabaseConnections.class);
+            if (connections != null) {
+                return Math.min(Math.max(1, connections.value()), maxConcurrentRequests);
+            }
+        }
+        return 1;
+    }
+}
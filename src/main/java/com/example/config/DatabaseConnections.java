@@ -0,0 +1,23 @@
+package com.example.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Число соединений с базой данных, которые обработчик занимает одновременно, например число
+ * параллельных подзадач FanOutExecutor. Столько разрешений запрос получает в DatabaseBulkheadInterceptor;
+ * обработчики без аннотации занимают одно соединение.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DatabaseConnections {
+
+    /**
+     * @return число одновременно занимаемых соединений
+     */
+    int value();
+}
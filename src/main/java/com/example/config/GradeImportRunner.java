@@ -0,0 +1,61 @@
+package com.example.config;
+
+import com.example.dto.GradeImportResult;
+import com.example.service.GradeImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Запуск импорта оценок из командной строки:
+ * {@code --spring.main.web-application-type=none --app.grade-import.file=grades.csv}.
+ * После импорта приложение завершается с кодом 0, если все строки записаны, и 1, если часть строк отклонена.
+ * Кодировка файла задается свойством app.grade-import.charset (выгрузки Excel часто в windows-1251).
+ * Работающий веб-сервер узнает об импорте по версии в таблице data_version (StudentDataVersionService).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.grade-import.file")
+public class GradeImportRunner implements ApplicationRunner {
+
+    private final GradeImportService gradeImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.grade-import.file}")
+    private Path file;
+
+    @Value("${app.grade-import.charset:UTF-8}")
+    private Charset charset;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        log.info("Импорт оценок из файла {}", file.toAbsolutePath());
+
+        GradeImportResult result;
+        try (BufferedReader reader = Files.newBufferedReader(file, charset)) {
+            result = gradeImportService.importGrades(reader);
+        }
+
+        result.errors().forEach(log::warn);
+        if (result.rejected() > result.errors().size()) {
+            log.warn("Еще {} строк отклонено", result.rejected() - result.errors().size());
+        }
+
+        ExitCodeGenerator exitCode = () -> result.rejected() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(context, exitCode));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченный по объему кэш отрисованных страниц студента.
+ * Ключ включает версию данных студента, поэтому устаревшие страницы не удаляются явно:
+ * они перестают запрашиваться и вытесняются как давно не использованные (LRU),
+ * когда суммарный размер страниц превышает app.page-cache.max-size.
+ * Попадания, промахи, вытеснения, число и объем страниц публикуются как метрики cache.* с тегом
+ * cache=rendered-pages.
+ */
+@Component
+public class RenderedPageCache implements MeterBinder {
+
+    private static final Tags TAGS = Tags.of("cache", "rendered-pages");
+
+    private final long maxBytes;
+    private final Map<String, Page> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long totalBytes;
+
+    public RenderedPageCache(@Value("${app.page-cache.max-size:32MB}") DataSize maxSize) {
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    /**
+     * Получает страницу из кэша и учитывает попадание или промах.
+     *
+     * @param key ключ страницы
+     * @return страница или null, если ее нет в кэше
+     */
+    public synchronized Page get(String key) {
+        Page page = pages.get(key);
+        (page != null ? hits : misses).incrementAndGet();
+        return page;
+    }
+
+    /**
+     * Помещает страницу в кэш, вытесняя давно не использованные страницы при превышении объема.
+     * Страница больше всего кэша не сохраняется.
+     *
+     * @param key ключ страницы
+     * @param page отрисованная страница
+     */
+    public synchronized void put(String key, Page page) {
+        if (page.body().length > maxBytes) {
+            return;
+        }
+
+        Page previous = pages.put(key, page);
+        totalBytes += page.body().length - (previous != null ? previous.body().length : 0);
+
+        Iterator<Page> eldest = pages.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().body().length;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Удаляет все страницы из кэша.
+     */
+    public synchronized void clear() {
+        pages.clear();
+        totalBytes = 0;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized int getSize() {
+        return pages.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, RenderedPageCache::getHits)
+                .tags(TAGS).tag("result", "hit")
+                .description("Число страниц, отданных из кэша")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, RenderedPageCache::getMisses)
+                .tags(TAGS).tag("result", "miss")
+                .description("Число страниц, отсутствовавших в кэше")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", this, RenderedPageCache::getEvictions)
+                .tags(TAGS)
+                .description("Число вытесненных страниц")
+                .register(registry);
+        Gauge.builder("cache.size", this, RenderedPageCache::getSize)
+                .tags(TAGS)
+                .description("Число страниц в кэше")
+                .register(registry);
+        Gauge.builder("cache.bytes", this, RenderedPageCache::getTotalBytes)
+                .tags(TAGS)
+                .baseUnit("bytes")
+                .description("Суммарный размер страниц в кэше")
+                .register(registry);
+    }
+
+    /**
+     * Отрисованная страница.
+     *
+     * @param body тело ответа
+     * @param contentType тип содержимого с кодировкой
+     * @param etag ETag страницы
+     */
+    public record Page(byte[] body, String contentType, String etag) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.config;
+
+import com.example.security.PersonDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.SessionFlashMapManager;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Кэширование отрисованных страниц студента: дашборда, оценок, посещаемости и сводки.
+ * Ключ страницы включает студента, страницу, семестр и ETag (версию данных студента, сессию и дату),
+ * поэтому повторный просмотр без изменений данных обслуживается из RenderedPageCache
+ * без вызова контроллера, запросов к базе данных и отрисовки шаблона.
+ * Фильтр выполняется после Spring Security. Не кэшируются запросы, для которых в сессии
+ * ожидают flash-атрибуты, и ответы, отличные от HTML со статусом 200.
+ * Отключается свойством app.page-cache.enabled.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.page-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class RenderedPageCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> CACHED_PAGES = Set.of(
+            "/student/dashboard", "/student/grades", "/student/attendance", "/student/summary");
+
+    /**
+     * Атрибут сессии, в котором SessionFlashMapManager хранит flash-атрибуты до следующего запроса.
+     */
+    private static final String FLASH_MAPS_ATTRIBUTE = SessionFlashMapManager.class.getName() + ".FLASH_MAPS";
+
+    private final RenderedPageCache pageCache;
+    private final StudentPageETagInterceptor etagInterceptor;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !CACHED_PAGES.contains(getPath(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long studentId = getStudentId();
+        String etag = etagInterceptor.getPageETag(request);
+        if (studentId == null || etag == null || hasPendingFlashAttributes(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag.substring(2))) {
+            // Ответ 304 формирует StudentPageETagInterceptor
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = studentId + " " + getPath(request) + "?semester=" + request.getParameter("semester") + " " + etag;
+        RenderedPageCache.Page page = pageCache.get(key);
+        if (page != null) {
+            response.setContentType(page.contentType());
+            response.setHeader(HttpHeaders.ETAG, page.etag());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, StudentPageETagInterceptor.CACHE_CONTROL);
+            response.setContentLength(page.body().length);
+            response.getOutputStream().write(page.body());
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+            String contentType = wrapper.getContentType();
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK && contentType != null
+                    && contentType.startsWith("text/html")) {
+                pageCache.put(key, new RenderedPageCache.Page(wrapper.getContentAsByteArray(), contentType, etag));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static Long getStudentId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof PersonDetails personDetails
+                && personDetails.student() != null) {
+            return personDetails.student().getId();
+        }
+        return null;
+    }
+
+    private static boolean hasPendingFlashAttributes(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && session.getAttribute(FLASH_MAPS_ATTRIBUTE) instanceof Collection<?> flashMaps
+                && !flashMaps.isEmpty();
+    }
+
+    private static String getPath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
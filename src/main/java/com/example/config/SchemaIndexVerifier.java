@@ -0,0 +1,94 @@
+package com.example.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Проверка индексов, от которых зависят запросы репозиториев.
+ * При запуске приложения сверяет индексы из миграций V2__query_indexes.sql
+ * и V3__attendance_natural_key.sql с метаданными базы данных и предупреждает об отсутствующих:
+ * без них вход, списки групп и страницы студента выполняют полный просмотр таблиц, а прием
+ * посещаемости не может выполнить upsert. Отключается свойством app.schema.verify-indexes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier {
+
+    static final Map<String, List<String>> EXPECTED_INDEXES = Map.of(
+            "academic_performance", List.of(
+                    "idx_academic_performance_student_subject", "idx_academic_performance_subject"),
+            "attendance", List.of("idx_attendance_student_subject_date", "idx_attendance_subject",
+                    "uk_attendance_student_subject_date"),
+            "students", List.of("idx_students_group", "idx_students_ticket_number"),
+            "teacher_subject", List.of("idx_teacher_subject_teacher"),
+            "student_subject_statistics", List.of("idx_student_subject_statistics_subject"));
+
+    private final DataSource dataSource;
+
+    /**
+     * Проверяет наличие ожидаемых индексов после запуска приложения.
+     * Ошибка чтения метаданных не прерывает работу приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        try {
+            List<String> missing = findMissingIndexes();
+            if (missing.isEmpty()) {
+                log.info("Индексы схемы на месте");
+            } else {
+                log.warn("Отсутствуют индексы {}: запросы к этим таблицам будут выполняться полным просмотром."
+                        + " Проверьте применение миграций Flyway", missing);
+            }
+        } catch (SQLException e) {
+            log.warn("Не удалось проверить индексы схемы", e);
+        }
+    }
+
+    /**
+     * Находит ожидаемые индексы, отсутствующие в базе данных.
+     *
+     * @return имена отсутствующих индексов в виде таблица.индекс (пустой список, если все на месте)
+     * @throws SQLException если не удалось прочитать метаданные
+     */
+    public List<String> findMissingIndexes() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> table : new TreeMap<>(EXPECTED_INDEXES).entrySet()) {
+                Set<String> present = findIndexNames(metaData, connection.getSchema(), table.getKey());
+                for (String index : table.getValue()) {
+                    if (!present.contains(index)) {
+                        missing.add(table.getKey() + "." + index);
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+
+    private Set<String> findIndexNames(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(null, schema, table, false, true)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Статистика регионов кэша второго уровня Hibernate.
+ * Регионы и их размеры описаны в ehcache.xml. Сводка по каждому региону (попадания, промахи,
+ * записи и число элементов) периодически выводится в журнал (app.l2-cache.statistics-log-interval).
+ */
+@Slf4j
+@Component
+public class SecondLevelCacheStatistics {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Получает статистику всех регионов кэша второго уровня.
+     *
+     * @return статистика регионов, упорядоченная по имени региона
+     */
+    public Map<String, CacheRegionStatistics> getRegionStatistics() {
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        Map<String, CacheRegionStatistics> result = new LinkedHashMap<>();
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                result.put(regionName, region);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Выводит статистику регионов в журнал.
+     */
+    @Scheduled(fixedDelayString = "${app.l2-cache.statistics-log-interval:PT15M}",
+            initialDelayString = "${app.l2-cache.statistics-log-interval:PT15M}")
+    public void logStatistics() {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        getRegionStatistics().forEach((regionName, region) -> log.info(
+                "Кэш второго уровня {}: попаданий {}, промахов {}, записей {}, элементов в памяти {}",
+                regionName, region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                region.getElementCountInMemory()));
+        log.info("Кэш запросов: попаданий {}, промахов {}, записей {}",
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount());
+    }
+}
@@ -1,15 +1,28 @@
 package com.example.config;
 
+import com.example.security.ApiKeyAuthenticationFilter;
 import com.example.security.PersonDetailsService;
+import com.example.timing.SlowRequestsEndpoint;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 
 /**
  * Конфигурационный класс для настройки Spring Security.
@@ -23,6 +36,64 @@ public class SecurityConfig {
 
     private final PersonDetailsService personDetailsService;
 
+    /**
+     * Настраивает цепочку фильтров для приема данных из внешних систем (/api/ingest/**).
+     * Запросы аутентифицируются по ключу app.ingest.api-key в заголовке X-API-Key, без сессии
+     * и без CSRF-токена. Без ключа или с неверным ключом возвращается 401.
+     *
+     * @param http объект HttpSecurity для настройки
+     * @param apiKey ключ внешних систем (если пуст, прием данных закрыт)
+     * @return сконфигурированная цепочка фильтров безопасности
+     * @throws Exception если произошла ошибка при настройке
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain ingestFilterChain(HttpSecurity http, @Value("${app.ingest.api-key:}") String apiKey)
+            throws Exception {
+        http
+                .securityMatcher("/api/ingest/**")
+                .authorizeHttpRequests(authz -> authz.anyRequest().hasRole(ApiKeyAuthenticationFilter.INGEST_ROLE))
+                .addFilterBefore(new ApiKeyAuthenticationFilter(apiKey, ApiKeyAuthenticationFilter.INGEST_ROLE),
+                        AnonymousAuthenticationFilter.class)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+
+        return http.build();
+    }
+
+    /**
+     * Настраивает цепочку фильтров для списка медленных запросов (/actuator/slowrequests на порту управления).
+     * Список содержит адреса и разбивку времени запросов студентов, поэтому доступен только по ключу
+     * app.server-timing.api-key в заголовке X-API-Key. Без ключа или с неверным ключом возвращается 401.
+     *
+     * @param http объект HttpSecurity для настройки
+     * @param apiKey ключ средств мониторинга (если пуст, список закрыт)
+     * @return сконфигурированная цепочка фильтров безопасности
+     * @throws Exception если произошла ошибка при настройке
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain diagnosticsFilterChain(HttpSecurity http,
+                                                      @Value("${app.server-timing.api-key:}") String apiKey)
+            throws Exception {
+        http
+                .securityMatcher(EndpointRequest.to(SlowRequestsEndpoint.class))
+                .authorizeHttpRequests(authz -> authz.anyRequest()
+                        .hasRole(ApiKeyAuthenticationFilter.DIAGNOSTICS_ROLE))
+                .addFilterBefore(new ApiKeyAuthenticationFilter(apiKey, ApiKeyAuthenticationFilter.DIAGNOSTICS_ROLE),
+                        AnonymousAuthenticationFilter.class)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+
+        return http.build();
+    }
+
     /**
      * Настраивает цепочку фильтров безопасности для HTTP-запросов.
      * Определяет правила доступа, настройки входа/выхода и другие параметры безопасности.
@@ -36,6 +107,10 @@ public class SecurityConfig {
         http
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/", "/login", "/css/**", "/js/**", "/images/**", "/error").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/groups/*/students").permitAll()
+                        // Проверка состояния и сбор метрик; порт управления закрыт от внешних клиентов
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))
+                        .permitAll()
                         .requestMatchers("/student/**").hasRole("STUDENT")
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,78 @@
+package com.example.config;
+
+import com.example.security.PersonDetails;
+import com.example.service.StudentDataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Условные GET-запросы страниц студента.
+ * ETag строится из версии данных студента (StudentDataVersionService), сессии и текущей даты:
+ * страница содержит CSRF-токен сессии, а семестр по умолчанию зависит от даты.
+ * При совпадении If-None-Match запрос завершается ответом 304 до вызова контроллера,
+ * то есть без обращений к базе данных и отрисовки шаблона.
+ * Запросы с flash-атрибутами (сообщения после смены пароля) всегда обрабатываются полностью.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentPageETagInterceptor implements HandlerInterceptor {
+
+    static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final StudentDataVersionService dataVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Map<String, ?> flashAttributes = RequestContextUtils.getInputFlashMap(request);
+        if (flashAttributes != null && !flashAttributes.isEmpty()) {
+            return true;
+        }
+
+        String etag = getPageETag(request);
+        if (etag == null) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    /**
+     * Вычисляет ETag страницы студента для текущего запроса.
+     *
+     * @param request текущий запрос
+     * @return слабый ETag или null, если запрос не является GET/HEAD-запросом студента
+     */
+    public String getPageETag(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return null;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof PersonDetails personDetails)
+                || personDetails.student() == null) {
+            return null;
+        }
+
+        HttpSession session = request.getSession(false);
+        String content = dataVersionService.getVersion(personDetails.student().getId())
+                + ":" + (session != null ? session.getId() : "")
+                + ":" + LocalDate.now();
+        return "W/\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.config;
+
+import com.example.timing.RenderTimingInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Конфигурационный класс для настройки Spring MVC.
+ * Подключает условные запросы страниц студента и ограничение параллельных запросов к страницам
+ * студента и API, обращающимся к базе данных. Условные запросы проверяются первыми,
+ * чтобы ответ 304 не занимал место в ограничении. Для заголовка Server-Timing замеряется отрисовка шаблонов.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final StudentPageETagInterceptor studentPageETagInterceptor;
+    private final DatabaseBulkheadInterceptor databaseBulkheadInterceptor;
+    private final RenderTimingInterceptor renderTimingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(studentPageETagInterceptor)
+                .addPathPatterns("/student/dashboard", "/student/summary",
+                        "/student/grades", "/student/grades/*",
+                        "/student/attendance", "/student/attendance/*");
+        registry.addInterceptor(databaseBulkheadInterceptor)
+                .addPathPatterns("/student/**", "/api/**");
+        registry.addInterceptor(renderTimingInterceptor)
+                .addPathPatterns("/student/**", "/login");
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.controller;
+
+import com.example.dto.AttendanceIngestResult;
+import com.example.dto.AttendanceMark;
+import com.example.service.AttendanceIngestService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Контроллер приема отметок посещаемости из электронных журналов.
+ * Доступен внешним системам с ключом app.ingest.api-key (SecurityConfig.ingestFilterChain).
+ */
+@RestController
+public class AttendanceIngestController {
+
+    private final AttendanceIngestService attendanceIngestService;
+    private final int maxMarks;
+
+    public AttendanceIngestController(AttendanceIngestService attendanceIngestService,
+                                      @Value("${app.ingest.max-marks:10000}") int maxMarks) {
+        this.attendanceIngestService = attendanceIngestService;
+        this.maxMarks = maxMarks;
+    }
+
+    /**
+     * Принимает пакет отметок посещаемости в виде JSON-массива. Повторная отправка пакета безопасна:
+     * отметка за тот же день заменяет предыдущую. Ответ 200 возвращается и при частично отклоненном
+     * пакете, отклоненные отметки перечислены в итоге.
+     *
+     * @param marks отметки посещаемости
+     * @return итог приема
+     * @throws ResponseStatusException 413, если отметок больше app.ingest.max-marks
+     */
+    @PostMapping("/api/ingest/attendance")
+    public AttendanceIngestResult ingestAttendance(@RequestBody List<AttendanceMark> marks) {
+        if (marks.size() > maxMarks) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "В пакете больше " + maxMarks + " отметок");
+        }
+        return attendanceIngestService.ingest(marks);
+    }
+}
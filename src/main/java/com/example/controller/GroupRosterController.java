@@ -0,0 +1,45 @@
+package com.example.controller;
+
+import com.example.dto.RosterEntry;
+import com.example.service.GroupRosterService;
+import com.example.service.GroupRosterService.GroupRoster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Контроллер списков студентов групп для выбора логина на странице входа.
+ */
+@RestController
+@RequiredArgsConstructor
+public class GroupRosterController {
+
+    private final GroupRosterService groupRosterService;
+
+    /**
+     * Возвращает отсортированный по имени список студентов группы.
+     * Поддерживает условные запросы: при совпадении If-None-Match отвечает 304 без тела.
+     *
+     * @param groupId идентификатор группы
+     * @param request текущий запрос
+     * @return список студентов группы или null, если ответ 304 уже сформирован
+     */
+    @GetMapping("/api/groups/{groupId}/students")
+    public ResponseEntity<List<RosterEntry>> getGroupStudents(@PathVariable Long groupId, WebRequest request) {
+        GroupRoster roster = groupRosterService.getRoster(groupId);
+        if (request.checkNotModified(roster.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(roster.etag())
+                .body(roster.students());
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.controller.student;
 
-import com.example.model.Student;
+import com.example.config.DatabaseConnections;
+import com.example.dto.AttendanceCard;
+import com.example.dto.AttendanceCursor;
+import com.example.dto.AttendanceDetails;
+import com.example.dto.StudentAcademicSnapshot;
 import com.example.security.PersonDetails;
+import com.example.security.StudentCredentials;
 import com.example.service.AttendanceService;
+import com.example.service.FanOutExecutor;
+import com.example.service.StatisticsService;
 import com.example.service.StudentService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
@@ -14,6 +25,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
@@ -24,8 +36,13 @@ import java.util.Set;
 @PreAuthorize("hasRole('STUDENT')")
 public class StudentAttendanceController {
 
+    private static final String PARTIAL_PAGE_MESSAGE =
+            "Часть данных страницы временно недоступна, обновите страницу позже";
+
     private final AttendanceService attendanceService;
     private final StudentService studentService;
+    private final StatisticsService statisticsService;
+    private final FanOutExecutor fanOutExecutor;
 
     @GetMapping("/attendance")
     public String attendance(@RequestParam(value = "semester", required = false) Integer semester,
@@ -34,51 +51,89 @@ public class StudentAttendanceController {
             return "redirect:/login";
         }
 
-        Student student = personDetails.student();
+        StudentCredentials student = personDetails.student();
         studentService.addCommonAttributes(model, student, "attendance");
 
         if (semester == null) {
             semester = studentService.getCurrentSemester();
         }
 
-        Map<Long, Map<String, Object>> cards = attendanceService.getAttendanceDashboard(student.getId(), semester);
+        StudentAcademicSnapshot snapshot = statisticsService.getSnapshot(student.getId());
+        Map<Long, AttendanceCard> cards = attendanceService.getAttendanceDashboard(snapshot, semester);
         Map<Long, String> teacherNames = studentService.buildTeacherNames(cards.keySet());
 
         model.addAttribute("cards", cards);
         model.addAttribute("teacherNames", teacherNames);
         model.addAttribute("currentSemester", semester);
-        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(student.getId()));
+        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(snapshot));
 
         return "student/attendance/attendance";
     }
 
     @GetMapping("/attendance/{subjectId}")
+    @DatabaseConnections(3)
     public String attendanceDetail(@PathVariable Long subjectId,
                                    @RequestParam(value = "semester", required = false) Integer semester,
-                                   Model model, @AuthenticationPrincipal PersonDetails personDetails) {
+                                   @RequestParam(value = "afterDate", required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+                                   @RequestParam(value = "afterId", required = false) Long afterId,
+                                   Model model, @AuthenticationPrincipal PersonDetails personDetails,
+                                   HttpServletResponse response) {
         if (!studentService.isStudentAuthenticated(personDetails)) {
             return "redirect:/login";
         }
 
-        Student student = personDetails.student();
+        StudentCredentials student = personDetails.student();
         studentService.addCommonAttributes(model, student, "attendance");
 
         if (semester == null) {
             semester = studentService.getCurrentSemester();
         }
 
-        Map<String, Object> details = attendanceService.getAttendanceDetails(subjectId, student.getId(), semester);
-        if (details == null) {
-            return "redirect:/student/attendance";
-        }
-
+        Long studentId = student.getId();
+        Integer selectedSemester = semester;
+        AttendanceCursor cursor = afterId != null ? new AttendanceCursor(afterDate, afterId) : null;
         Set<Long> subjectIds = Collections.singleton(subjectId);
-        Map<Long, String> teacherNames = studentService.buildTeacherNames(subjectIds);
+        AttendanceDetails details;
+        StudentAcademicSnapshot snapshot;
+        Map<Long, String> teacherNames;
+
+        try (FanOutExecutor.Scope scope = fanOutExecutor.open()) {
+            FanOutExecutor.Subtask<AttendanceDetails> detailsTask = scope.fork(
+                    () -> attendanceService.getAttendanceDetails(subjectId, studentId, selectedSemester, cursor));
+            FanOutExecutor.Subtask<StudentAcademicSnapshot> snapshotTask = scope.fork(
+                    () -> statisticsService.getSnapshot(studentId), StudentAcademicSnapshot.empty(studentId));
+            FanOutExecutor.Subtask<Map<Long, String>> teacherNamesTask = scope.fork(
+                    () -> studentService.buildTeacherNames(subjectIds), Collections.emptyMap());
+
+            details = detailsTask.get();
+            if (details == null) {
+                return "redirect:/student/attendance";
+            }
+            snapshot = snapshotTask.get();
+            teacherNames = teacherNamesTask.get();
+            if (snapshotTask.isDegraded() || teacherNamesTask.isDegraded()) {
+                // Частичная страница не кэшируется браузером, иначе повторный запрос получит 304
+                model.addAttribute("errorMessage", PARTIAL_PAGE_MESSAGE);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            }
+        }
 
         model.addAttribute("teacherNames", teacherNames);
         model.addAttribute("currentSemester", semester);
-        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(student.getId()));
-        model.addAllAttributes(details);
+        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(snapshot));
+        model.addAttribute("subject", details.subject());
+        model.addAttribute("attendances", details.attendances());
+        model.addAttribute("nextCursor", details.nextCursor());
+        model.addAttribute("firstPage", cursor == null);
+        model.addAttribute("presentCount", details.presentCount());
+        model.addAttribute("absentCount", details.absentCount());
+        model.addAttribute("lateCount", details.lateCount());
+        model.addAttribute("totalClasses", details.totalClasses());
+        model.addAttribute("attendancePercentage", details.attendancePercentage());
+        model.addAttribute("presentPercentage", details.presentPercentage());
+        model.addAttribute("absentPercentage", details.absentPercentage());
+        model.addAttribute("latePercentage", details.latePercentage());
 
         return "student/attendance/attendance-detail";
     }
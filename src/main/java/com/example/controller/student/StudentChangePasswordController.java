@@ -1,7 +1,7 @@
 package com.example.controller.student;
 
-import com.example.model.Student;
 import com.example.security.PersonDetails;
+import com.example.security.StudentCredentials;
 import com.example.service.StudentService;
 import com.example.util.PersonValidator;
 import lombok.RequiredArgsConstructor;
@@ -46,7 +46,7 @@ public class StudentChangePasswordController {
         }
 
         try {
-            Student student = personDetails.student();
+            StudentCredentials student = personDetails.student();
             String encodedPassword = passwordEncoder.encode(newPassword);
             studentService.updatePassword(student.getId(), encodedPassword);
 
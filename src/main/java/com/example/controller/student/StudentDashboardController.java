@@ -1,7 +1,7 @@
 package com.example.controller.student;
 
-import com.example.model.Student;
 import com.example.security.PersonDetails;
+import com.example.security.StudentCredentials;
 import com.example.service.DashboardService;
 import com.example.service.StudentService;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +27,7 @@ public class StudentDashboardController {
             return "redirect:/login";
         }
 
-        Student student = personDetails.student();
+        StudentCredentials student = personDetails.student();
         studentService.addCommonAttributes(model, student, "dashboard");
         dashboardService.addStudentDataToModel(model, student);
 
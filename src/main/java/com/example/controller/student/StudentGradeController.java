@@ -1,10 +1,19 @@
 package com.example.controller.student;
 
-import com.example.model.Student;
+import com.example.config.DatabaseConnections;
+import com.example.dto.StudentAcademicSnapshot;
+import com.example.dto.SubjectGradeCard;
+import com.example.dto.SubjectGradeDetails;
 import com.example.security.PersonDetails;
+import com.example.security.StudentCredentials;
+import com.example.service.FanOutExecutor;
 import com.example.service.GradeService;
+import com.example.service.StatisticsService;
 import com.example.service.StudentService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
@@ -14,6 +23,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 @Controller
@@ -22,8 +33,13 @@ import java.util.Map;
 @PreAuthorize("hasRole('STUDENT')")
 public class StudentGradeController {
 
+    private static final String PARTIAL_PAGE_MESSAGE =
+            "Часть данных страницы временно недоступна, обновите страницу позже";
+
     private final GradeService gradeService;
     private final StudentService studentService;
+    private final StatisticsService statisticsService;
+    private final FanOutExecutor fanOutExecutor;
 
     @GetMapping("/grades")
     public String grades(@RequestParam(value = "semester", required = false) Integer semester,
@@ -32,47 +48,72 @@ public class StudentGradeController {
             return "redirect:/login";
         }
 
-        Student student = personDetails.student();
+        StudentCredentials student = personDetails.student();
         studentService.addCommonAttributes(model, student, "grades");
 
         if (semester == null) {
             semester = studentService.getCurrentSemester();
         }
 
-        Map<Long, Map<String, Object>> cards = gradeService.getGradesDashboard(student.getId(), semester);
+        StudentAcademicSnapshot snapshot = statisticsService.getSnapshot(student.getId());
+        Map<Long, SubjectGradeCard> cards = gradeService.getGradesDashboard(snapshot, semester);
         Map<Long, String> teacherNames = studentService.buildTeacherNames(cards.keySet());
 
         model.addAttribute("cards", cards);
         model.addAttribute("teacherNames", teacherNames);
         model.addAttribute("currentSemester", semester);
-        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(student.getId()));
+        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(snapshot));
 
         return "student/grade/grades";
     }
 
     @GetMapping("/grades/{subjectId}")
+    @DatabaseConnections(3)
     public String gradesDetail(@PathVariable Long subjectId,
                                @RequestParam(value = "semester", required = false) Integer semester,
-                               Model model, @AuthenticationPrincipal PersonDetails personDetails) {
+                               Model model, @AuthenticationPrincipal PersonDetails personDetails,
+                               HttpServletResponse response) {
         if (!studentService.isStudentAuthenticated(personDetails)) {
             return "redirect:/login";
         }
 
-        Student student = personDetails.student();
+        StudentCredentials student = personDetails.student();
         studentService.addCommonAttributes(model, student, "grades");
 
         if (semester == null) {
             semester = studentService.getCurrentSemester();
         }
 
-        Map<String, Object> details = gradeService.getSubjectDetails(subjectId, student.getId(), semester);
-        if (details == null) {
-            return "redirect:/student/grades";
+        Long studentId = student.getId();
+        Integer selectedSemester = semester;
+        SubjectGradeDetails details;
+        StudentAcademicSnapshot snapshot;
+        List<String> teachers;
+
+        try (FanOutExecutor.Scope scope = fanOutExecutor.open()) {
+            FanOutExecutor.Subtask<SubjectGradeDetails> detailsTask = scope.fork(
+                    () -> gradeService.getSubjectDetails(subjectId, studentId, selectedSemester));
+            FanOutExecutor.Subtask<StudentAcademicSnapshot> snapshotTask = scope.fork(
+                    () -> statisticsService.getSnapshot(studentId), StudentAcademicSnapshot.empty(studentId));
+            FanOutExecutor.Subtask<List<String>> teachersTask = scope.fork(
+                    () -> gradeService.getTeacherNamesBySubjectId(subjectId), Collections.emptyList());
+
+            details = detailsTask.get();
+            if (details == null) {
+                return "redirect:/student/grades";
+            }
+            snapshot = snapshotTask.get();
+            teachers = teachersTask.get();
+            if (snapshotTask.isDegraded() || teachersTask.isDegraded()) {
+                // Частичная страница не кэшируется браузером, иначе повторный запрос получит 304
+                model.addAttribute("errorMessage", PARTIAL_PAGE_MESSAGE);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            }
         }
 
-        gradeService.addGradeDetailsToModel(model, details, subjectId);
+        gradeService.addGradeDetailsToModel(model, details, teachers);
         model.addAttribute("currentSemester", semester);
-        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(student.getId()));
+        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(snapshot));
 
         return "student/grade/grades-detail";
     }
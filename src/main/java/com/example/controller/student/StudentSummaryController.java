@@ -1,7 +1,11 @@
 package com.example.controller.student;
 
-import com.example.model.Student;
+import com.example.dto.SemesterSummary;
+import com.example.dto.SemesterTrend;
+import com.example.dto.StudentAcademicSnapshot;
 import com.example.security.PersonDetails;
+import com.example.security.StudentCredentials;
+import com.example.service.StatisticsService;
 import com.example.service.StudentService;
 import com.example.service.SummaryService;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +25,7 @@ public class StudentSummaryController {
 
     private final SummaryService summaryService;
     private final StudentService studentService;
+    private final StatisticsService statisticsService;
 
     @GetMapping("/summary")
     public String summary(@RequestParam(value = "semester", required = false) Integer semester,
@@ -29,20 +34,21 @@ public class StudentSummaryController {
             return "redirect:/login";
         }
 
-        Student student = personDetails.student();
+        StudentCredentials student = personDetails.student();
         studentService.addCommonAttributes(model, student, "summary");
 
         if (semester == null) {
             semester = studentService.getCurrentSemester();
         }
 
-        Object summaryData = summaryService.getSummaryData(student.getId(), semester);
-        Object trendData = summaryService.getSemesterTrendData(student.getId());
+        StudentAcademicSnapshot snapshot = statisticsService.getSnapshot(student.getId());
+        SemesterSummary summaryData = summaryService.getSummaryData(snapshot, semester);
+        SemesterTrend trendData = summaryService.getSemesterTrendData(snapshot);
 
         model.addAttribute("summaryData", summaryData);
         model.addAttribute("trendData", trendData);
         model.addAttribute("currentSemester", semester);
-        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(student.getId()));
+        model.addAttribute("availableSemesters", studentService.getAvailableSemesters(snapshot));
 
         return "student/summary/summary";
     }
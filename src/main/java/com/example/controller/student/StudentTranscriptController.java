@@ -0,0 +1,81 @@
+package com.example.controller.student;
+
+import com.example.security.PersonDetails;
+import com.example.security.StudentCredentials;
+import com.example.service.StudentService;
+import com.example.service.TranscriptExportService;
+import com.example.service.TranscriptExportService.Format;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Контроллер выгрузки полной выписки успеваемости студента.
+ * Выписка записывается прямо в поток ответа без буферизации (см. TranscriptExportService).
+ * Заголовки файла устанавливаются только после того, как выгрузка получила разрешение:
+ * при превышении лимита выгрузок клиент получает обычный ответ 503, а не файл с ошибкой.
+ */
+@Controller
+@RequestMapping("/student")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('STUDENT')")
+public class StudentTranscriptController {
+
+    private final TranscriptExportService transcriptExportService;
+    private final StudentService studentService;
+
+    /**
+     * Отдает выписку оценок и посещаемости за все семестры файлом для скачивания.
+     *
+     * @param format формат выписки: csv или json
+     * @param personDetails данные аутентифицированного пользователя
+     * @param response ответ, в поток которого записывается выписка
+     * @throws IOException если произошла ошибка записи
+     * @throws ResponseStatusException 400, если формат не поддерживается,
+     *                                 503, если выполняется максимальное число выгрузок
+     */
+    @GetMapping("/transcript")
+    public void transcript(@RequestParam(value = "format", defaultValue = "csv") String format,
+                           @AuthenticationPrincipal PersonDetails personDetails,
+                           HttpServletResponse response) throws IOException {
+        if (!studentService.isStudentAuthenticated(personDetails)) {
+            response.sendRedirect("/login");
+            return;
+        }
+
+        Format transcriptFormat = parseFormat(format);
+        StudentCredentials student = personDetails.student();
+        transcriptExportService.export(student.getId(), transcriptFormat, () -> {
+            response.setContentType(transcriptFormat.getContentType());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("transcript-" + student.getStudentTicketNumber() + "." + transcriptFormat.getExtension(),
+                            StandardCharsets.UTF_8)
+                    .build()
+                    .toString());
+            return response.getOutputStream();
+        });
+    }
+
+    private static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Неизвестный формат выписки: " + format);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.dto;
+
+import com.example.model.Subject;
+
+/**
+ * Карточка посещаемости студента по предмету для дашборда посещаемости.
+ *
+ * @param subject предмет
+ * @param present количество посещенных занятий
+ * @param absent количество пропусков
+ * @param late количество опозданий
+ * @param total общее количество занятий
+ */
+public record AttendanceCard(Subject subject,
+                             long present,
+                             long absent,
+                             long late,
+                             long total) {
+}
@@ -0,0 +1,14 @@
+package com.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Позиция в истории посещаемости для постраничного вывода по ключу.
+ * Следующая страница начинается с записей, которые идут после указанной
+ * в порядке убывания даты и идентификатора.
+ *
+ * @param attendanceDate дата последней показанной записи (может быть null)
+ * @param attendanceId идентификатор последней показанной записи
+ */
+public record AttendanceCursor(LocalDate attendanceDate, Long attendanceId) {
+}
@@ -0,0 +1,34 @@
+package com.example.dto;
+
+import com.example.model.Attendance;
+import com.example.model.Subject;
+
+import java.util.List;
+
+/**
+ * Детализированная информация о посещаемости студента по предмету.
+ *
+ * @param subject предмет
+ * @param attendances страница записей посещаемости, отсортированных по убыванию даты
+ * @param nextCursor позиция для загрузки следующей страницы или null, если страница последняя
+ * @param presentCount количество посещенных занятий
+ * @param absentCount количество пропусков
+ * @param lateCount количество опозданий
+ * @param totalClasses общее количество занятий по всей истории
+ * @param attendancePercentage процент посещаемости
+ * @param presentPercentage процент посещенных занятий
+ * @param absentPercentage процент пропусков
+ * @param latePercentage процент опозданий
+ */
+public record AttendanceDetails(Subject subject,
+                                List<Attendance> attendances,
+                                AttendanceCursor nextCursor,
+                                long presentCount,
+                                long absentCount,
+                                long lateCount,
+                                int totalClasses,
+                                double attendancePercentage,
+                                double presentPercentage,
+                                double absentPercentage,
+                                double latePercentage) {
+}
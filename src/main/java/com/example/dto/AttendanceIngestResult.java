@@ -0,0 +1,15 @@
+package com.example.dto;
+
+import java.util.List;
+
+/**
+ * Итог приема пакета отметок посещаемости.
+ *
+ * @param received число отметок в запросе
+ * @param accepted число принятых отметок: новые, замененные и совпадающие с уже сохраненными
+ * @param duplicates число отметок, повторяющих в запросе ключ студент-предмет-дата (учитывается последняя)
+ * @param rejected число отметок, не прошедших проверку
+ * @param errors описания ошибок с номерами отметок в запросе (не больше ограничения, остальные только подсчитываются)
+ */
+public record AttendanceIngestResult(int received, int accepted, int duplicates, int rejected, List<String> errors) {
+}
@@ -0,0 +1,49 @@
+package com.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Отметка посещаемости из электронного журнала для приема через API.
+ * Отметка определяется студентом, предметом и датой: повторная отметка за тот же день заменяет предыдущую.
+ *
+ * @param studentId идентификатор студента
+ * @param subjectId идентификатор предмета
+ * @param date дата занятия
+ * @param status отметка о посещении
+ * @param comment комментарий (может быть null)
+ */
+public record AttendanceMark(Long studentId, Long subjectId, LocalDate date, Status status, String comment) {
+
+    /**
+     * Отметка о посещении. Опоздание хранится в attendance.is_present как null.
+     */
+    public enum Status {
+        PRESENT, ABSENT, LATE;
+
+        /**
+         * Возвращает отметку по значению столбца attendance.is_present.
+         *
+         * @param isPresent true для присутствия, false для пропуска и null для опоздания
+         * @return отметка о посещении
+         */
+        public static Status of(Boolean isPresent) {
+            if (isPresent == null) {
+                return LATE;
+            }
+            return isPresent ? PRESENT : ABSENT;
+        }
+
+        /**
+         * Возвращает значение столбца attendance.is_present.
+         *
+         * @return true для присутствия, false для пропуска и null для опоздания
+         */
+        public Boolean toIsPresent() {
+            return switch (this) {
+                case PRESENT -> Boolean.TRUE;
+                case ABSENT -> Boolean.FALSE;
+                case LATE -> null;
+            };
+        }
+    }
+}
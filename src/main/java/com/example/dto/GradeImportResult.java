@@ -0,0 +1,14 @@
+package com.example.dto;
+
+import java.util.List;
+
+/**
+ * Итог импорта оценок из CSV.
+ *
+ * @param rowsRead число прочитанных строк данных (без заголовка)
+ * @param imported число записанных оценок
+ * @param rejected число строк, не прошедших проверку
+ * @param errors описания ошибок с номерами строк (не больше ограничения, остальные только подсчитываются)
+ */
+public record GradeImportResult(long rowsRead, long imported, long rejected, List<String> errors) {
+}
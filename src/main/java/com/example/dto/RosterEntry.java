@@ -0,0 +1,10 @@
+package com.example.dto;
+
+/**
+ * Студент в списке группы на странице входа.
+ *
+ * @param fullName полное имя студента
+ * @param studentTicketNumber номер студенческого билета (логин)
+ */
+public record RosterEntry(String fullName, String studentTicketNumber) {
+}
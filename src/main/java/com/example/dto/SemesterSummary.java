@@ -0,0 +1,17 @@
+package com.example.dto;
+
+import java.util.Map;
+
+/**
+ * Сводка об успеваемости и посещаемости студента за семестр.
+ *
+ * @param gradesData карточки оценок по ID предмета
+ * @param attendanceData карточки посещаемости по ID предмета
+ * @param overallAvgGrade средний балл по всем предметам или 0.0 если данных нет
+ * @param overallAttendance общий процент посещаемости или 0.0 если занятий нет
+ */
+public record SemesterSummary(Map<Long, SubjectGradeCard> gradesData,
+                              Map<Long, AttendanceCard> attendanceData,
+                              double overallAvgGrade,
+                              double overallAttendance) {
+}
@@ -0,0 +1,12 @@
+package com.example.dto;
+
+/**
+ * Данные для графиков динамики успеваемости и посещаемости по семестрам.
+ * Значения с одинаковым индексом относятся к одному семестру.
+ *
+ * @param semesters номера семестров
+ * @param grades средние баллы по семестрам
+ * @param attendance проценты посещаемости по семестрам
+ */
+public record SemesterTrend(int[] semesters, double[] grades, double[] attendance) {
+}
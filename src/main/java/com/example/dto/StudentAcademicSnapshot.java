@@ -0,0 +1,68 @@
+package com.example.dto;
+
+import com.example.model.StudentSubjectStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Снимок учебных данных студента, загружаемый один раз на запрос.
+ * Содержит предрассчитанную статистику по всем предметам студента, из которой строятся
+ * дашборды, сводка, тренды по семестрам и список доступных семестров.
+ *
+ * @param studentId идентификатор студента
+ * @param statistics строки статистики по всем предметам, упорядоченные по ID предмета
+ */
+public record StudentAcademicSnapshot(Long studentId, List<StudentSubjectStatistics> statistics) {
+
+    public StudentAcademicSnapshot {
+        statistics = List.copyOf(statistics);
+    }
+
+    /**
+     * Создает пустой снимок, например для частичного результата, если статистику не удалось загрузить.
+     *
+     * @param studentId идентификатор студента
+     * @return снимок без строк статистики
+     */
+    public static StudentAcademicSnapshot empty(Long studentId) {
+        return new StudentAcademicSnapshot(studentId, List.of());
+    }
+
+    /**
+     * Отбирает статистику предметов указанного семестра.
+     *
+     * @param semester семестр для фильтрации (если null, возвращаются все предметы)
+     * @return строки статистики в исходном порядке
+     */
+    public List<StudentSubjectStatistics> forSemester(Integer semester) {
+        if (semester == null) {
+            return statistics;
+        }
+
+        List<StudentSubjectStatistics> result = new ArrayList<>();
+        for (StudentSubjectStatistics row : statistics) {
+            if (Objects.equals(semester, row.getSubject().getSemester())) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Получает семестры предметов, по которым у студента есть оценки или посещаемость.
+     *
+     * @return номера семестров по возрастанию (пустой список, если данных нет)
+     */
+    public List<Integer> semesters() {
+        TreeSet<Integer> semesters = new TreeSet<>();
+        for (StudentSubjectStatistics row : statistics) {
+            if (row.getSubject().getSemester() != null) {
+                semesters.add(row.getSubject().getSemester());
+            }
+        }
+        return new ArrayList<>(semesters);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.dto;
+
+/**
+ * Количество отметок посещаемости студента по предмету.
+ *
+ * @param studentId идентификатор студента
+ * @param subjectId идентификатор предмета
+ * @param presentCount количество присутствий (is_present = true)
+ * @param absentCount количество пропусков (is_present = false)
+ * @param lateCount количество опозданий (is_present не указан)
+ */
+public record SubjectAttendanceCounts(Long studentId, Long subjectId,
+                                      long presentCount, long absentCount, long lateCount) {
+
+    /**
+     * Проверяет, есть ли у пары студент-предмет хотя бы одна отметка.
+     *
+     * @return true если количество отметок больше нуля
+     */
+    public boolean hasAttendance() {
+        return presentCount + absentCount + lateCount > 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.dto;
+
+import com.example.model.Subject;
+
+/**
+ * Карточка успеваемости студента по предмету для дашборда оценок.
+ *
+ * @param subject предмет
+ * @param totalGrades количество оценок
+ * @param avgGrade средневзвешенный балл (null если оценок нет)
+ * @param maxGrade максимальная оценка или 0 если оценок нет
+ * @param minGrade минимальная оценка или 0 если оценок нет
+ */
+public record SubjectGradeCard(Subject subject,
+                               int totalGrades,
+                               Double avgGrade,
+                               int maxGrade,
+                               int minGrade) {
+}
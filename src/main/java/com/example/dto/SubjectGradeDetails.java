@@ -0,0 +1,32 @@
+package com.example.dto;
+
+import com.example.model.AcademicPerformance;
+import com.example.model.Subject;
+
+import java.util.List;
+
+/**
+ * Детализированная информация об оценках студента по предмету.
+ *
+ * @param subject предмет
+ * @param grades список оценок
+ * @param avgGrade средневзвешенный балл (null если оценок нет)
+ * @param maxGrade максимальная оценка или 0 если оценок нет
+ * @param minGrade минимальная оценка или 0 если оценок нет
+ * @param lastGrade последняя по дате оценка (null если оценок нет)
+ * @param excellentCount количество отличных оценок
+ * @param goodCount количество хороших оценок
+ * @param satisfactoryCount количество удовлетворительных оценок
+ * @param unsatisfactoryCount количество неудовлетворительных оценок
+ */
+public record SubjectGradeDetails(Subject subject,
+                                  List<AcademicPerformance> grades,
+                                  Double avgGrade,
+                                  int maxGrade,
+                                  int minGrade,
+                                  Integer lastGrade,
+                                  long excellentCount,
+                                  long goodCount,
+                                  long satisfactoryCount,
+                                  long unsatisfactoryCount) {
+}
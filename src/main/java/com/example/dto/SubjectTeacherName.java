@@ -0,0 +1,10 @@
+package com.example.dto;
+
+/**
+ * Имя преподавателя, закрепленного за предметом.
+ *
+ * @param subjectId идентификатор предмета
+ * @param teacherName полное имя преподавателя
+ */
+public record SubjectTeacherName(Long subjectId, String teacherName) {
+}
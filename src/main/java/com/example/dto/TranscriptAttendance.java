@@ -0,0 +1,24 @@
+package com.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Отметка посещаемости в выписке успеваемости студента.
+ *
+ * @param semester семестр предмета
+ * @param subjectName название предмета
+ * @param date дата занятия
+ * @param status отметка о посещении
+ * @param comment комментарий
+ */
+public record TranscriptAttendance(Integer semester, String subjectName, LocalDate date,
+                                   AttendanceMark.Status status, String comment) {
+
+    /**
+     * Создает отметку по значению столбца attendance.is_present (используется в запросе JPQL).
+     */
+    public TranscriptAttendance(Integer semester, String subjectName, LocalDate date, Boolean isPresent,
+                                String comment) {
+        this(semester, subjectName, date, AttendanceMark.Status.of(isPresent), comment);
+    }
+}
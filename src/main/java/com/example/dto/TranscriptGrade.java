@@ -0,0 +1,17 @@
+package com.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Оценка в выписке успеваемости студента.
+ *
+ * @param semester семестр предмета
+ * @param subjectName название предмета
+ * @param date дата оценки
+ * @param workType тип работы
+ * @param grade оценка
+ * @param comment комментарий преподавателя
+ */
+public record TranscriptGrade(Integer semester, String subjectName, LocalDate date, String workType,
+                              Integer grade, String comment) {
+}
@@ -0,0 +1,10 @@
+package com.example.event;
+
+/**
+ * Событие изменения записи о посещаемости (добавление, изменение или удаление).
+ *
+ * @param studentId идентификатор студента
+ * @param subjectId идентификатор предмета
+ */
+public record AttendanceChangedEvent(Long studentId, Long subjectId) {
+}
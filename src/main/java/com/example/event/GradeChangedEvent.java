@@ -0,0 +1,10 @@
+package com.example.event;
+
+/**
+ * Событие изменения записи об оценке (добавление, изменение или удаление).
+ *
+ * @param studentId идентификатор студента
+ * @param subjectId идентификатор предмета
+ */
+public record GradeChangedEvent(Long studentId, Long subjectId) {
+}
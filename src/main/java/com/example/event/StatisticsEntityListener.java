@@ -0,0 +1,38 @@
+package com.example.event;
+
+import com.example.model.AcademicPerformance;
+import com.example.model.Attendance;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA-слушатель оценок и посещаемости, публикующий события для обновления статистики.
+ * События обрабатываются после фиксации транзакции, см. StatisticsService.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatisticsEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Object entity) {
+        if (entity instanceof AcademicPerformance performance) {
+            if (performance.getStudent() != null && performance.getSubject() != null) {
+                eventPublisher.publishEvent(new GradeChangedEvent(
+                        performance.getStudent().getId(), performance.getSubject().getSubjectId()));
+            }
+        } else if (entity instanceof Attendance attendance) {
+            if (attendance.getStudent() != null && attendance.getSubject() != null) {
+                eventPublisher.publishEvent(new AttendanceChangedEvent(
+                        attendance.getStudent().getId(), attendance.getSubject().getSubjectId()));
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.event;
+
+/**
+ * Событие изменения данных студента.
+ *
+ * @param studentId идентификатор студента
+ */
+public record StudentChangedEvent(Long studentId) {
+}
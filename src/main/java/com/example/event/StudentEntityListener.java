@@ -0,0 +1,27 @@
+package com.example.event;
+
+import com.example.model.Student;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA-слушатель студентов, публикующий события для сброса кэшей с данными студентов.
+ * События обрабатываются после фиксации транзакции.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Student student) {
+        eventPublisher.publishEvent(new StudentChangedEvent(student.getId()));
+    }
+}
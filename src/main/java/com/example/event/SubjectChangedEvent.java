@@ -0,0 +1,7 @@
+package com.example.event;
+
+/**
+ * Событие изменения справочника предметов.
+ */
+public record SubjectChangedEvent() {
+}
@@ -0,0 +1,26 @@
+package com.example.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA-слушатель предметов, публикующий события для обновления каталога предметов.
+ * События обрабатываются после фиксации транзакции, см. SubjectCatalog.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubjectEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Object entity) {
+        eventPublisher.publishEvent(new SubjectChangedEvent());
+    }
+}
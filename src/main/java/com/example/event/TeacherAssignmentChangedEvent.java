@@ -0,0 +1,7 @@
+package com.example.event;
+
+/**
+ * Событие изменения преподавателя или его закрепления за предметом.
+ */
+public record TeacherAssignmentChangedEvent() {
+}
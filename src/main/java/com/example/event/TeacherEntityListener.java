@@ -0,0 +1,26 @@
+package com.example.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA-слушатель преподавателей и их предметов, публикующий события для сброса кэша имен преподавателей.
+ * События обрабатываются после фиксации транзакции, см. TeacherNameService.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeacherEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Object entity) {
+        eventPublisher.publishEvent(new TeacherAssignmentChangedEvent());
+    }
+}
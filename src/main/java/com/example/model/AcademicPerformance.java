@@ -1,22 +1,30 @@
 package com.example.model;
 
+import com.example.event.StatisticsEntityListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDate;
 
 @Data
 @Entity
 @Table(name = "academic_performance")
+@EntityListeners(StatisticsEntityListener.class)
 public class AcademicPerformance {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long performanceId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "student_id")
     private Student student;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "subject_id")
     private Subject subject;
 
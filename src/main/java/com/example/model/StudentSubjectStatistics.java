@@ -0,0 +1,83 @@
+package com.example.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import java.time.LocalDate;
+
+/**
+ * Предрассчитанная статистика студента по предмету (read model).
+ * Строка пары студент-предмет пересчитывается целиком по таблицам academic_performance и attendance
+ * под блокировкой предмета (StatisticsWriteLock) после каждой записи оценок и посещаемости,
+ * см. StatisticsService.
+ * Предмет загружается лениво: запросы, которым он нужен, получают его через JOIN FETCH.
+ */
+@Data
+@Entity
+@Table(name = "student_subject_statistics")
+public class StudentSubjectStatistics {
+    @EmbeddedId
+    private StudentSubjectStatisticsId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @MapsId("subjectId")
+    @JoinColumn(name = "subject_id")
+    private Subject subject;
+
+    @Column(name = "grade_count", nullable = false)
+    private long gradeCount;
+
+    @Column(name = "weighted_sum", nullable = false)
+    private double weightedSum;
+
+    @Column(name = "total_weight", nullable = false)
+    private double totalWeight;
+
+    @Column(name = "min_grade")
+    private Integer minGrade;
+
+    @Column(name = "max_grade")
+    private Integer maxGrade;
+
+    @Column(name = "last_grade")
+    private Integer lastGrade;
+
+    @Column(name = "last_grade_date")
+    private LocalDate lastGradeDate;
+
+    @Column(name = "grade_1_count", nullable = false)
+    private long grade1Count;
+
+    @Column(name = "grade_2_count", nullable = false)
+    private long grade2Count;
+
+    @Column(name = "grade_3_count", nullable = false)
+    private long grade3Count;
+
+    @Column(name = "grade_4_count", nullable = false)
+    private long grade4Count;
+
+    @Column(name = "grade_5_count", nullable = false)
+    private long grade5Count;
+
+    @Column(name = "present_count", nullable = false)
+    private long presentCount;
+
+    @Column(name = "absent_count", nullable = false)
+    private long absentCount;
+
+    @Column(name = "late_count", nullable = false)
+    private long lateCount;
+
+    /**
+     * Возвращает общее количество отмеченных занятий.
+     *
+     * @return сумма присутствий, отсутствий и опозданий
+     */
+    public long getAttendanceCount() {
+        return presentCount + absentCount + lateCount;
+    }
+}
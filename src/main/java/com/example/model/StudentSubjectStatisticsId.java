@@ -0,0 +1,15 @@
+package com.example.model;
+
+import jakarta.persistence.Column;
+import lombok.*;
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSubjectStatisticsId implements Serializable {
+    @Column(name = "student_id")
+    private Long studentId;
+
+    private Long subjectId;
+}
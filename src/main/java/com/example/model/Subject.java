@@ -1,11 +1,17 @@
 package com.example.model;
 
+import com.example.event.SubjectEntityListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "subjects")
 @Table(name = "subjects")
+@EntityListeners(SubjectEntityListener.class)
 public class Subject {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
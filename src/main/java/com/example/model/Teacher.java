@@ -1,11 +1,15 @@
 package com.example.model;
 
+import com.example.event.TeacherEntityListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
 @Entity
 @Table(name = "teachers")
+@EntityListeners(TeacherEntityListener.class)
 public class Teacher {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,7 +22,9 @@ public class Teacher {
     @Column(name = "password_hash")
     private String passwordHash;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "role_id")
     private Role role;
 }
\ No newline at end of file
@@ -1,21 +1,33 @@
 package com.example.model;
 
+import com.example.event.TeacherEntityListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "teacher-subjects")
 @Table(name = "teacher_subject")
+@EntityListeners(TeacherEntityListener.class)
 public class TeacherSubject {
     @EmbeddedId
     private TeacherSubjectId id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @MapsId("teacherId")
     @JoinColumn(name = "teacher_id")
     private Teacher teacher;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @MapsId("subjectId")
     @JoinColumn(name = "subject_id")
     private Subject subject;
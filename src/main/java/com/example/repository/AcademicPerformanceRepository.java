@@ -1,10 +1,36 @@
 package com.example.repository;
 
+import com.example.dto.TranscriptGrade;
 import com.example.model.AcademicPerformance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AcademicPerformanceRepository extends JpaRepository<AcademicPerformance, Long> {
     List<AcademicPerformance> findByStudentId(Long studentId);
     List<AcademicPerformance> findByStudentIdAndSubjectSubjectId(Long studentId, Long subjectId);
-}
\ No newline at end of file
+
+    /**
+     * Читает все оценки студента для выписки успеваемости потоком, без загрузки истории в память.
+     * Строки выбираются из курсора порциями по fetch size и не попадают в контекст персистентности.
+     * Поток нужно читать и закрыть внутри транзакции.
+     *
+     * @param studentId идентификатор студента
+     * @return оценки, упорядоченные по семестру, предмету и дате
+     */
+    @Query("""
+            SELECT new com.example.dto.TranscriptGrade(
+                s.semester, s.name, ap.assessmentDate, ap.workType, ap.grade, ap.comment)
+            FROM AcademicPerformance ap
+            JOIN ap.subject s
+            WHERE ap.student.id = :studentId
+            ORDER BY s.semester, s.name, s.subjectId, ap.assessmentDate NULLS LAST, ap.performanceId
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<TranscriptGrade> streamTranscript(@Param("studentId") Long studentId);
+}
@@ -1,10 +1,122 @@
 package com.example.repository;
 
+import com.example.dto.SubjectAttendanceCounts;
+import com.example.dto.TranscriptAttendance;
 import com.example.model.Attendance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
-    List<Attendance> findByStudentId(Long studentId);
-    List<Attendance> findByStudentIdAndSubjectSubjectIdOrderByAttendanceDateDesc(Long studentId, Long subjectId);
-}
\ No newline at end of file
+    /**
+     * Загружает первую страницу истории посещаемости студента по предмету.
+     * Записи упорядочены по убыванию даты и идентификатора, записи без даты идут последними.
+     *
+     * @param studentId идентификатор студента
+     * @param subjectId идентификатор предмета
+     * @param limit максимальное количество записей
+     * @return записи страницы
+     */
+    @Query("""
+            SELECT a FROM Attendance a
+            WHERE a.student.id = :studentId
+              AND a.subject.subjectId = :subjectId
+            ORDER BY a.attendanceDate DESC NULLS LAST, a.attendanceId DESC
+            """)
+    List<Attendance> findFirstPage(@Param("studentId") Long studentId,
+                                   @Param("subjectId") Long subjectId,
+                                   Limit limit);
+
+    /**
+     * Загружает страницу истории посещаемости, следующую за записью с указанной датой.
+     * Записи без даты не выбираются: условие по дате использует индекс,
+     * а записи без даты дочитываются запросом findUndatedPageAfter.
+     *
+     * @param studentId идентификатор студента
+     * @param subjectId идентификатор предмета
+     * @param afterDate дата последней показанной записи
+     * @param afterId идентификатор последней показанной записи
+     * @param limit максимальное количество записей
+     * @return записи с датой в порядке findFirstPage
+     */
+    @Query("""
+            SELECT a FROM Attendance a
+            WHERE a.student.id = :studentId
+              AND a.subject.subjectId = :subjectId
+              AND (a.attendanceDate < :afterDate
+                   OR (a.attendanceDate = :afterDate AND a.attendanceId < :afterId))
+            ORDER BY a.attendanceDate DESC, a.attendanceId DESC
+            """)
+    List<Attendance> findPageAfter(@Param("studentId") Long studentId,
+                                   @Param("subjectId") Long subjectId,
+                                   @Param("afterDate") LocalDate afterDate,
+                                   @Param("afterId") Long afterId,
+                                   Limit limit);
+
+    /**
+     * Загружает страницу истории посещаемости, следующую за записью без даты.
+     *
+     * @param studentId идентификатор студента
+     * @param subjectId идентификатор предмета
+     * @param afterId идентификатор последней показанной записи
+     * @param limit максимальное количество записей
+     * @return записи без даты в порядке убывания идентификатора
+     */
+    @Query("""
+            SELECT a FROM Attendance a
+            WHERE a.student.id = :studentId
+              AND a.subject.subjectId = :subjectId
+              AND a.attendanceDate IS NULL
+              AND a.attendanceId < :afterId
+            ORDER BY a.attendanceId DESC
+            """)
+    List<Attendance> findUndatedPageAfter(@Param("studentId") Long studentId,
+                                          @Param("subjectId") Long subjectId,
+                                          @Param("afterId") Long afterId,
+                                          Limit limit);
+
+    /**
+     * Подсчитывает отметки посещаемости группы студентов по предметам одним сгруппированным запросом.
+     *
+     * @param studentIds идентификаторы студентов
+     * @return количество присутствий, пропусков и опозданий по каждой паре студент-предмет
+     */
+    @Query("""
+            SELECT new com.example.dto.SubjectAttendanceCounts(
+                a.student.id, a.subject.subjectId,
+                COUNT(CASE WHEN a.isPresent = TRUE THEN 1 END),
+                COUNT(CASE WHEN a.isPresent = FALSE THEN 1 END),
+                COUNT(CASE WHEN a.isPresent IS NULL THEN 1 END))
+            FROM Attendance a
+            WHERE a.student.id IN :studentIds AND a.subject IS NOT NULL
+            GROUP BY a.student.id, a.subject.subjectId
+            """)
+    List<SubjectAttendanceCounts> countByStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Читает всю посещаемость студента для выписки успеваемости потоком, без загрузки истории в память.
+     * Строки выбираются из курсора порциями по fetch size и не попадают в контекст персистентности.
+     * Поток нужно читать и закрыть внутри транзакции.
+     *
+     * @param studentId идентификатор студента
+     * @return отметки, упорядоченные по семестру, предмету и дате
+     */
+    @Query("""
+            SELECT new com.example.dto.TranscriptAttendance(
+                s.semester, s.name, a.attendanceDate, a.isPresent, a.comment)
+            FROM Attendance a
+            JOIN a.subject s
+            WHERE a.student.id = :studentId
+            ORDER BY s.semester, s.name, s.subjectId, a.attendanceDate NULLS LAST, a.attendanceId
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<TranscriptAttendance> streamTranscript(@Param("studentId") Long studentId);
+}
@@ -1,8 +1,21 @@
 package com.example.repository;
 
 import com.example.model.Group;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.List;
 
 public interface GroupRepository extends JpaRepository<Group, Long> {
-    // доступны по умолчанию
-}
\ No newline at end of file
+    // остальные методы доступны по умолчанию
+
+    /**
+     * Загружает все группы. Результат хранится в кэше запросов второго уровня
+     * и сбрасывается Hibernate при любом изменении таблицы groups через JPA.
+     *
+     * @return все группы
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Group> findAll();
+}
@@ -1,7 +1,12 @@
 package com.example.repository;
 
+import com.example.dto.RosterEntry;
 import com.example.model.Student;
+import com.example.security.StudentCredentials;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,4 +14,38 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByGroupId(Long groupId);
     Optional<Student> findByStudentTicketNumber(String studentTicketNumber);
     Optional<Student> findById(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Загружает имена и логины студентов группы без загрузки сущностей.
+     *
+     * @param groupId идентификатор группы
+     * @return студенты группы в произвольном порядке
+     */
+    @Query("SELECT new com.example.dto.RosterEntry(s.fullName, s.studentTicketNumber) FROM Student s WHERE s.group.id = :groupId")
+    List<RosterEntry> findRosterByGroupId(@Param("groupId") Long groupId);
+
+    /**
+     * Загружает данные для аутентификации студента без соединения с группой и ролью.
+     *
+     * @param studentTicketNumber номер студенческого билета
+     * @return данные студента, если студент найден
+     */
+    @Query("""
+            SELECT new com.example.security.StudentCredentials(
+                s.id, s.fullName, s.studentTicketNumber, s.passwordHash, s.group.id)
+            FROM Student s
+            WHERE s.studentTicketNumber = :studentTicketNumber
+            """)
+    Optional<StudentCredentials> findCredentialsByStudentTicketNumber(
+            @Param("studentTicketNumber") String studentTicketNumber);
+
+    /**
+     * Загружает идентификаторы студентов по порядку, начиная после заданного (постраничный обход по ключу).
+     *
+     * @param afterId идентификатор, после которого начинается страница
+     * @param limit размер страницы
+     * @return идентификаторы студентов по возрастанию
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+}
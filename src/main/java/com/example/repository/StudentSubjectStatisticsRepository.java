@@ -0,0 +1,159 @@
+package com.example.repository;
+
+import com.example.dto.SubjectAttendanceCounts;
+import com.example.model.StudentSubjectStatistics;
+import com.example.model.StudentSubjectStatisticsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий предрассчитанной статистики студентов по предметам.
+ * Веса типов работ в запросах пересчета должны совпадать с GradeStatistics.WORK_TYPE_WEIGHTS.
+ */
+public interface StudentSubjectStatisticsRepository
+        extends JpaRepository<StudentSubjectStatistics, StudentSubjectStatisticsId> {
+
+    /**
+     * Строки оценок и посещаемости в общем виде: каждая запись дает вклад в счетчики своей пары.
+     */
+    String SOURCE_ROWS = """
+            SELECT student_id, subject_id,
+                   1 AS grade_count,
+                   COALESCE(grade * CASE work_type
+                                        WHEN 'Экзамен' THEN 3.0
+                                        WHEN 'Контрольная работа' THEN 2.0
+                                        ELSE 1.0 END, 0.0) AS weighted_sum,
+                   CASE WHEN grade IS NULL THEN 0.0
+                        WHEN work_type = 'Экзамен' THEN 3.0
+                        WHEN work_type = 'Контрольная работа' THEN 2.0
+                        ELSE 1.0 END AS total_weight,
+                   grade,
+                   CASE WHEN grade IS NOT NULL THEN assessment_date END AS grade_date,
+                   CASE WHEN grade = 1 THEN 1 ELSE 0 END AS grade_1,
+                   CASE WHEN grade = 2 THEN 1 ELSE 0 END AS grade_2,
+                   CASE WHEN grade = 3 THEN 1 ELSE 0 END AS grade_3,
+                   CASE WHEN grade = 4 THEN 1 ELSE 0 END AS grade_4,
+                   CASE WHEN grade = 5 THEN 1 ELSE 0 END AS grade_5,
+                   0 AS present, 0 AS absent, 0 AS late
+            FROM academic_performance
+            UNION ALL
+            SELECT student_id, subject_id,
+                   0, 0.0, 0.0, NULL, NULL, 0, 0, 0, 0, 0,
+                   CASE WHEN is_present = TRUE THEN 1 ELSE 0 END,
+                   CASE WHEN is_present = FALSE THEN 1 ELSE 0 END,
+                   CASE WHEN is_present IS NULL THEN 1 ELSE 0 END
+            FROM attendance
+            """;
+
+    String INSERT_TOTALS = """
+            INSERT INTO student_subject_statistics (student_id, subject_id,
+                   grade_count, weighted_sum, total_weight, min_grade, max_grade, last_grade_date,
+                   grade_1_count, grade_2_count, grade_3_count, grade_4_count, grade_5_count,
+                   present_count, absent_count, late_count, last_grade)
+            SELECT t.*,
+                   (SELECT ap.grade FROM academic_performance ap
+                    WHERE ap.student_id = t.student_id AND ap.subject_id = t.subject_id
+                      AND ap.grade IS NOT NULL AND ap.assessment_date = t.last_grade_date
+                    ORDER BY ap.performance_id
+                    LIMIT 1)
+            FROM (SELECT student_id, subject_id,
+                         SUM(grade_count) AS grade_count,
+                         SUM(weighted_sum) AS weighted_sum,
+                         SUM(total_weight) AS total_weight,
+                         MIN(grade) AS min_grade,
+                         MAX(grade) AS max_grade,
+                         MAX(grade_date) AS last_grade_date,
+                         SUM(grade_1) AS grade_1_count,
+                         SUM(grade_2) AS grade_2_count,
+                         SUM(grade_3) AS grade_3_count,
+                         SUM(grade_4) AS grade_4_count,
+                         SUM(grade_5) AS grade_5_count,
+                         SUM(present) AS present_count,
+                         SUM(absent) AS absent_count,
+                         SUM(late) AS late_count
+                  FROM (
+            """ + SOURCE_ROWS + """
+                  ) source
+                  WHERE student_id IS NOT NULL AND subject_id IS NOT NULL
+            """;
+
+    String GROUP_BY_PAIR = " GROUP BY student_id, subject_id) t";
+
+    /**
+     * Загружает статистику студента по предметам вместе с предметами.
+     *
+     * @param studentId идентификатор студента
+     * @param semester семестр для фильтрации (может быть null)
+     * @return по одной строке на каждый предмет, по которому есть оценки или посещаемость
+     */
+    @Query("""
+            SELECT st FROM StudentSubjectStatistics st
+            JOIN FETCH st.subject s
+            WHERE st.id.studentId = :studentId
+              AND (:semester IS NULL OR s.semester = :semester)
+            ORDER BY s.subjectId
+            """)
+    List<StudentSubjectStatistics> findByStudentAndSemester(@Param("studentId") Long studentId,
+                                                            @Param("semester") Integer semester);
+
+    /**
+     * Загружает счетчики посещаемости группы студентов из предрассчитанной статистики.
+     *
+     * @param studentIds идентификаторы студентов
+     * @return количество присутствий, пропусков и опозданий по каждой паре
+     */
+    @Query("""
+            SELECT new com.example.dto.SubjectAttendanceCounts(
+                st.id.studentId, st.id.subjectId, st.presentCount, st.absentCount, st.lateCount)
+            FROM StudentSubjectStatistics st
+            WHERE st.id.studentId IN :studentIds
+            """)
+    List<SubjectAttendanceCounts> findAttendanceCounts(@Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_subject_statistics WHERE student_id = :studentId AND subject_id = :subjectId",
+            nativeQuery = true)
+    void deletePair(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+
+    /**
+     * Пересчитывает статистику пары студент-предмет по исходным таблицам.
+     * Перед вызовом строку пары нужно удалить методом deletePair.
+     */
+    @Modifying
+    @Query(value = INSERT_TOTALS + " AND student_id = :studentId AND subject_id = :subjectId" + GROUP_BY_PAIR,
+            nativeQuery = true)
+    void insertPairTotals(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM student_subject_statistics
+            WHERE subject_id = :subjectId AND student_id IN (:studentIds)
+            """, nativeQuery = true)
+    void deleteSubjectStudents(@Param("subjectId") Long subjectId, @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Пересчитывает статистику студентов по одному предмету по исходным таблицам.
+     * Перед вызовом строки пар нужно удалить методом deleteSubjectStudents.
+     */
+    @Modifying
+    @Query(value = INSERT_TOTALS + " AND subject_id = :subjectId AND student_id IN (:studentIds)" + GROUP_BY_PAIR,
+            nativeQuery = true)
+    void insertSubjectStudentsTotals(@Param("subjectId") Long subjectId,
+                                     @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_subject_statistics", nativeQuery = true)
+    void deleteAllRows();
+
+    /**
+     * Пересчитывает статистику всех студентов по исходным таблицам.
+     * Перед вызовом таблицу нужно очистить методом deleteAllRows.
+     */
+    @Modifying
+    @Query(value = INSERT_TOTALS + GROUP_BY_PAIR, nativeQuery = true)
+    void insertAllTotals();
+}
@@ -7,5 +7,12 @@ import java.util.Optional;
 
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
     Optional<Subject> findById(Long id);
+
+    /**
+     * Загружает все предметы. Результат не кэшируется: каталог предметов (SubjectCatalog)
+     * перечитывает его по расписанию, чтобы увидеть изменения, сделанные в обход JPA.
+     *
+     * @return все предметы
+     */
     List<Subject> findAll();
-}
\ No newline at end of file
+}
@@ -1,10 +1,30 @@
 package com.example.repository;
 
+import com.example.dto.SubjectTeacherName;
 import com.example.model.TeacherSubject;
 import com.example.model.TeacherSubjectId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface TeacherSubjectRepository extends JpaRepository<TeacherSubject, TeacherSubjectId> {
     List<TeacherSubject> findBySubjectSubjectId(Long subjectId);
-}
\ No newline at end of file
+
+    /**
+     * Загружает имена преподавателей сразу для нескольких предметов одним запросом.
+     *
+     * @param subjectIds идентификаторы предметов
+     * @return пары предмет - имя преподавателя, упорядоченные по предмету и преподавателю
+     */
+    @Query("""
+            SELECT new com.example.dto.SubjectTeacherName(ts.id.subjectId, t.fullName)
+            FROM TeacherSubject ts
+            JOIN ts.teacher t
+            WHERE ts.id.subjectId IN :subjectIds
+              AND t.fullName IS NOT NULL
+            ORDER BY ts.id.subjectId, t.id
+            """)
+    List<SubjectTeacherName> findTeacherNamesBySubjectIds(@Param("subjectIds") Collection<Long> subjectIds);
+}
@@ -0,0 +1,50 @@
+package com.example.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Аутентификация внешних систем по ключу в заголовке X-API-Key: электронных журналов (роль INGEST)
+ * и средств мониторинга (роль DIAGNOSTICS). При совпадении ключа запрос выполняется с ролью,
+ * заданной для ключа, без сессии. Ключи сравниваются за постоянное время. Если ключ не задан,
+ * аутентификация по ключу отключена.
+ */
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-API-Key";
+    public static final String INGEST_ROLE = "INGEST";
+    public static final String DIAGNOSTICS_ROLE = "DIAGNOSTICS";
+
+    private final byte[] apiKey;
+    private final String role;
+
+    public ApiKeyAuthenticationFilter(String apiKey, String role) {
+        this.apiKey = apiKey != null ? apiKey.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        this.role = role;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String provided = request.getHeader(HEADER);
+        if (apiKey.length > 0 && provided != null
+                && MessageDigest.isEqual(apiKey, provided.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    "api-key", null, AuthorityUtils.createAuthorityList("ROLE_" + role)));
+            SecurityContextHolder.setContext(context);
+        }
+        chain.doFilter(request, response);
+    }
+}
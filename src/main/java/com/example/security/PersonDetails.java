@@ -1,6 +1,5 @@
 package com.example.security;
 
-import com.example.model.Student;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,9 +9,9 @@ import java.util.Collections;
 
 /**
  * Реализация интерфейса UserDetails для представления данных студента в Spring Security.
- * Оборачивает объект Student и предоставляет необходимую информацию для системы безопасности.
+ * Оборачивает снимок StudentCredentials и предоставляет необходимую информацию для системы безопасности.
  */
-public record PersonDetails(Student student) implements UserDetails {
+public record PersonDetails(StudentCredentials student) implements UserDetails {
 
     /**
      * Возвращает права доступа (роли) пользователя.
@@ -1,8 +1,8 @@
 package com.example.security;
 
-import com.example.model.Student;
 import com.example.repository.StudentRepository;
 import com.example.util.PersonValidator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -21,11 +21,13 @@ public class PersonDetailsService implements UserDetailsService {
 
     private final StudentRepository studentRepository;
     private final PersonValidator personValidator;
+    private final StudentCredentialsCache credentialsCache;
 
     /**
      * Загружает данные пользователя по номеру студенческого билета.
      * Используется Spring Security для аутентификации пользователя.
-     * Выполняет поиск студента в базе данных и валидацию его данных.
+     * Данные студента берутся из кэша аутентификации, при промахе загружаются из базы данных
+     * и после успешной валидации помещаются в кэш.
      *
      * @param username номер студенческого билета (используется как имя пользователя)
      * @return объект UserDetails с данными пользователя
@@ -33,8 +35,15 @@ public class PersonDetailsService implements UserDetailsService {
      *                                   или данные пользователя не прошли валидацию
      */
     @Override
+    @Timed("app.auth.load-user")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<Student> student = studentRepository.findByStudentTicketNumber(username);
+        StudentCredentials cached = credentialsCache.get(username);
+        if (cached != null) {
+            return new PersonDetails(cached);
+        }
+
+        long cacheVersion = credentialsCache.version();
+        Optional<StudentCredentials> student = studentRepository.findCredentialsByStudentTicketNumber(username);
 
         if (student.isEmpty()) {
             throw new UsernameNotFoundException("Пользователь не найден: " + username);
@@ -44,6 +53,7 @@ public class PersonDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("Невалидные данные пользователя: " + username);
         }
 
+        credentialsCache.put(student.get(), cacheVersion);
         return new PersonDetails(student.get());
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.security;
+
+import com.example.model.Student;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Компактный неизменяемый снимок данных студента для аутентификации.
+ * Хранится в кэше аутентификации и в сессии вместо сущности Student.
+ */
+@Value
+public class StudentCredentials implements Serializable {
+    Long id;
+    String fullName;
+    String studentTicketNumber;
+    String passwordHash;
+    Long groupId;
+
+    /**
+     * Создает снимок по сущности студента.
+     *
+     * @param student сущность студента
+     * @return снимок данных для аутентификации
+     */
+    public static StudentCredentials from(Student student) {
+        return new StudentCredentials(
+                student.getId(),
+                student.getFullName(),
+                student.getStudentTicketNumber(),
+                student.getPasswordHash(),
+                student.getGroup() != null ? student.getGroup().getId() : null);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.security;
+
+import com.example.event.StudentChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченный по размеру кэш данных аутентификации студентов с истечением срока хранения.
+ * Записи хранятся в ConcurrentHashMap без общей блокировки; по идентификатору студента ведется
+ * индекс номеров билетов, поэтому удаление студента не перебирает кэш. При переполнении сначала
+ * удаляются записи с истекшим сроком, затем произвольные, пока кэш не сократится до 90% размера,
+ * чтобы следующие добавления не перебирали кэш снова.
+ * Записи удаляются после фиксации любых изменений студента через JPA, в том числе смены пароля.
+ * Данные, загруженные до удаления, в кэш не попадают (см. version).
+ */
+@Component
+public class StudentCredentialsCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, String> ticketsByStudentId = new ConcurrentHashMap<>();
+
+    /**
+     * Число удалений из кэша. Загрузка сохраняется, только если с ее начала ничего не удаляли.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public StudentCredentialsCache(@Value("${app.auth-cache.max-size:10000}") int maxSize,
+                                   @Value("${app.auth-cache.ttl:PT5M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Получает данные студента из кэша.
+     *
+     * @param studentTicketNumber номер студенческого билета
+     * @return данные студента или null, если их нет в кэше или срок хранения истек
+     */
+    public StudentCredentials get(String studentTicketNumber) {
+        Entry entry = entries.get(studentTicketNumber);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(ttlNanos)) {
+            remove(studentTicketNumber, entry);
+            return null;
+        }
+        return entry.credentials();
+    }
+
+    /**
+     * Возвращает версию кэша, которую нужно получить до загрузки данных из базы и передать в put.
+     *
+     * @return текущая версия кэша
+     */
+    public long version() {
+        return evictions.get();
+    }
+
+    /**
+     * Помещает данные студента в кэш, если после получения версии из кэша ничего не удалялось:
+     * иначе данные могли быть прочитаны до смены пароля и не сохраняются.
+     *
+     * @param credentials данные студента
+     * @param version версия кэша, полученная до загрузки данных
+     */
+    public void put(StudentCredentials credentials, long version) {
+        String ticket = credentials.getStudentTicketNumber();
+        Entry entry = new Entry(credentials, System.nanoTime());
+        entries.put(ticket, entry);
+        if (credentials.getId() != null) {
+            String previousTicket = ticketsByStudentId.put(credentials.getId(), ticket);
+            if (previousTicket != null && !previousTicket.equals(ticket)) {
+                entries.remove(previousTicket);
+            }
+        }
+
+        if (evictions.get() != version) {
+            remove(ticket, entry);
+            return;
+        }
+        if (entries.size() > maxSize) {
+            shrink();
+        }
+    }
+
+    /**
+     * Удаляет данные студента из кэша по идентификатору студента.
+     *
+     * @param studentId идентификатор студента
+     */
+    public void evictStudent(Long studentId) {
+        evictions.incrementAndGet();
+        String ticket = ticketsByStudentId.remove(studentId);
+        if (ticket != null) {
+            entries.remove(ticket);
+        }
+    }
+
+    /**
+     * Сбрасывает данные студента после фиксации его изменения.
+     *
+     * @param event событие изменения студента
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        evictStudent(event.studentId());
+    }
+
+    private void shrink() {
+        entries.forEach((ticket, entry) -> {
+            if (entry.isExpired(ttlNanos)) {
+                remove(ticket, entry);
+            }
+        });
+        int targetSize = maxSize - maxSize / 10;
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > targetSize && it.hasNext()) {
+            Map.Entry<String, Entry> next = it.next();
+            remove(next.getKey(), next.getValue());
+        }
+    }
+
+    private void remove(String ticket, Entry entry) {
+        if (entries.remove(ticket, entry) && entry.credentials().getId() != null) {
+            ticketsByStudentId.remove(entry.credentials().getId(), ticket);
+        }
+    }
+
+    private record Entry(StudentCredentials credentials, long cachedAt) {
+
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - cachedAt > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.service;
+
+import com.example.dto.AttendanceIngestResult;
+import com.example.dto.AttendanceMark;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Прием отметок посещаемости из электронных журналов пакетами.
+ * Отметка определяется студентом, предметом и датой (ограничение uk_attendance_student_subject_date),
+ * поэтому повторная отправка пакета не создает дубликатов: отметки записываются запросом
+ * INSERT ... ON CONFLICT DO UPDATE, а совпадающие с сохраненными строки не изменяются.
+ * Отметки записываются пакетами JDBC по app.ingest.batch-size в одной транзакции, упорядоченными
+ * по ключу, чтобы параллельные пакеты блокировали строки в одном порядке. Перед записью транзакция
+ * блокирует предметы пакета общей блокировкой статистики (StatisticsWriteLock), и в той же транзакции
+ * пересчитывается статистика затронутых пар студент-предмет (по два запроса на предмет).
+ * Отметки с ошибками пропускаются и попадают в итог приема.
+ */
+@Slf4j
+@Service
+public class AttendanceIngestService {
+
+    private static final int MAX_ERRORS = 100;
+    private static final int MAX_COMMENT_LENGTH = 255;
+
+    private static final String UPSERT_ATTENDANCE = """
+            INSERT INTO attendance (student_id, subject_id, attendance_date, is_present, comment)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (student_id, subject_id, attendance_date) DO UPDATE
+            SET is_present = EXCLUDED.is_present, comment = EXCLUDED.comment
+            WHERE attendance.is_present IS DISTINCT FROM EXCLUDED.is_present
+               OR attendance.comment IS DISTINCT FROM EXCLUDED.comment
+            """;
+
+    private static final int[] UPSERT_TYPES = {Types.BIGINT, Types.BIGINT, Types.DATE, Types.BOOLEAN, Types.VARCHAR};
+
+    private static final String FIND_STUDENTS = "SELECT student_id FROM students WHERE student_id = ANY(?)";
+
+    private static final Comparator<MarkKey> KEY_ORDER = Comparator.comparing(MarkKey::subjectId)
+            .thenComparing(MarkKey::studentId)
+            .thenComparing(MarkKey::date);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatisticsService statisticsService;
+    private final StatisticsWriteLock statisticsWriteLock;
+    private final int batchSize;
+
+    public AttendanceIngestService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   StatisticsService statisticsService, StatisticsWriteLock statisticsWriteLock,
+                                   @Value("${app.ingest.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statisticsService = statisticsService;
+        this.statisticsWriteLock = statisticsWriteLock;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Записывает пакет отметок посещаемости. Если ключ студент-предмет-дата повторяется в пакете,
+     * записывается последняя отметка. Отметки несуществующих студентов и предметов отклоняются.
+     *
+     * @param marks отметки в порядке получения
+     * @return итог приема
+     */
+    @Timed("app.ingest.attendance")
+    public AttendanceIngestResult ingest(List<AttendanceMark> marks) {
+        PreparedBatch prepared = prepare(marks);
+        Map<MarkKey, AttendanceMark> unique = prepared.marks();
+        List<String> errors = prepared.errors();
+        int rejected = prepared.rejected();
+        int duplicates = prepared.duplicates();
+        if (unique.isEmpty()) {
+            return new AttendanceIngestResult(marks.size(), 0, duplicates, rejected, errors);
+        }
+
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> subjectIds = new HashSet<>();
+        for (MarkKey key : unique.keySet()) {
+            studentIds.add(key.studentId());
+            subjectIds.add(key.subjectId());
+        }
+
+        Integer written = transactionTemplate.execute(status -> {
+            Set<Long> existingSubjects = statisticsWriteLock.lock(subjectIds);
+            Set<Long> existingStudents = new HashSet<>(
+                    jdbcTemplate.queryForList(FIND_STUDENTS, Long.class, (Object) studentIds.toArray(Long[]::new)));
+
+            Map<Long, Set<Long>> studentsBySubject = new TreeMap<>();
+            List<Object[]> batch = new ArrayList<>(Math.min(batchSize, unique.size()));
+            int count = 0;
+            for (Map.Entry<MarkKey, AttendanceMark> entry : unique.entrySet()) {
+                MarkKey key = entry.getKey();
+                if (!existingStudents.contains(key.studentId())) {
+                    addError(errors, key, "студент с ID " + key.studentId() + " не найден");
+                    continue;
+                }
+                if (!existingSubjects.contains(key.subjectId())) {
+                    addError(errors, key, "предмет с ID " + key.subjectId() + " не найден");
+                    continue;
+                }
+
+                AttendanceMark mark = entry.getValue();
+                batch.add(new Object[]{key.studentId(), key.subjectId(), key.date(),
+                        mark.status().toIsPresent(), blankToNull(mark.comment())});
+                studentsBySubject.computeIfAbsent(key.subjectId(), id -> new HashSet<>()).add(key.studentId());
+                if (batch.size() >= batchSize) {
+                    count += writeBatch(batch);
+                }
+            }
+            count += writeBatch(batch);
+
+            studentsBySubject.forEach(statisticsService::rebuildSubject);
+            return count;
+        });
+
+        int unknown = unique.size() - written;
+        log.debug("Прием посещаемости: получено {}, принято {}, повторов {}, отклонено {}",
+                marks.size(), written, duplicates, rejected + unknown);
+        return new AttendanceIngestResult(marks.size(), written, duplicates, rejected + unknown, errors);
+    }
+
+    /**
+     * Проверяет отметки и оставляет по одной на ключ студент-предмет-дата (последнюю в пакете).
+     * Обращений к базе нет: существование студентов и предметов проверяется при записи.
+     *
+     * @param marks отметки в порядке получения
+     * @return отметки в порядке ключа с числом повторов и отклоненных отметок
+     */
+    static PreparedBatch prepare(List<AttendanceMark> marks) {
+        List<String> errors = new ArrayList<>();
+        int rejected = 0;
+        int duplicates = 0;
+
+        Map<MarkKey, AttendanceMark> unique = new TreeMap<>(KEY_ORDER);
+        for (int i = 0; i < marks.size(); i++) {
+            AttendanceMark mark = marks.get(i);
+            String error = validate(mark);
+            if (error != null) {
+                rejected++;
+                addError(errors, i, error);
+            } else if (unique.put(new MarkKey(mark.subjectId(), mark.studentId(), mark.date()), mark) != null) {
+                duplicates++;
+            }
+        }
+        return new PreparedBatch(unique, duplicates, rejected, errors);
+    }
+
+    private int writeBatch(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_ATTENDANCE, batch, UPSERT_TYPES);
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private static String validate(AttendanceMark mark) {
+        if (mark == null) {
+            return "пустая отметка";
+        }
+        if (mark.studentId() == null || mark.subjectId() == null || mark.date() == null || mark.status() == null) {
+            return "обязательны studentId, subjectId, date и status";
+        }
+        if (mark.comment() != null && mark.comment().length() > MAX_COMMENT_LENGTH) {
+            return "comment длиннее " + MAX_COMMENT_LENGTH + " символов";
+        }
+        return null;
+    }
+
+    private static void addError(List<String> errors, int index, String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Отметка " + (index + 1) + ": " + message);
+        }
+    }
+
+    private static void addError(List<String> errors, MarkKey key, String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Отметка " + key.studentId() + "/" + key.subjectId() + "/" + key.date() + ": " + message);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Ключ отметки в порядке блокировки строк: предмет, студент, дата.
+     */
+    record MarkKey(Long subjectId, Long studentId, LocalDate date) {
+    }
+
+    /**
+     * Проверенные отметки пакета до записи.
+     */
+    record PreparedBatch(Map<MarkKey, AttendanceMark> marks, int duplicates, int rejected, List<String> errors) {
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.service;
 
+import com.example.dto.AttendanceCard;
+import com.example.dto.AttendanceCursor;
+import com.example.dto.AttendanceDetails;
+import com.example.dto.StudentAcademicSnapshot;
 import com.example.model.Attendance;
+import com.example.model.StudentSubjectStatistics;
 import com.example.model.Subject;
 import com.example.repository.AttendanceRepository;
-import com.example.repository.SubjectRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -20,82 +28,72 @@ import java.util.*;
 public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
-    private final SubjectRepository subjectRepository;
+    private final SubjectCatalog subjectCatalog;
+    private final StatisticsService statisticsService;
+
+    @Value("${app.attendance.page-size:50}")
+    private int pageSize = 50;
+
+    /**
+     * Проверяет размер страницы посещаемости при запуске: при нуле выборка страницы завершалась бы
+     * IndexOutOfBoundsException, при отрицательном значении - ошибкой Limit.of.
+     *
+     * @throws IllegalStateException если app.attendance.page-size меньше 1
+     */
+    @PostConstruct
+    void validatePageSize() {
+        if (pageSize < 1) {
+            throw new IllegalStateException("app.attendance.page-size должен быть положительным: " + pageSize);
+        }
+    }
 
     /**
      * Получает дашборд с посещаемостью студента по всем предметам с возможностью фильтрации по семестру.
      *
      * @param studentId идентификатор студента
      * @param semester семестр для фильтрации (может быть null)
-     * @return структура данных где ключ - ID предмета, значение - данные по посещаемости
+     * @return карточки посещаемости по ID предмета
      * @throws IllegalArgumentException если studentId равен null
      */
-    public Map<Long, Map<String, Object>> getAttendanceDashboard(Long studentId, Integer semester) {
+    @Timed("app.attendance.dashboard")
+    public Map<Long, AttendanceCard> getAttendanceDashboard(Long studentId, Integer semester) {
         if (studentId == null) {
             throw new IllegalArgumentException();
         }
 
-        List<Attendance> allAttendances = attendanceRepository.findByStudentId(studentId);
-
-        if (semester != null) {
-            List<Attendance> filteredAttendances = new ArrayList<>();
-            for (Attendance attendance : allAttendances) {
-                if (attendance.getSubject() != null && Objects.equals(semester, attendance.getSubject().getSemester())) {
-                    filteredAttendances.add(attendance);
-                }
-            }
-            allAttendances = filteredAttendances;
-        }
-
-        Map<Long, List<Attendance>> groupedBySubject = groupAttendancesBySubject(allAttendances);
-        return buildAttendanceDashboard(groupedBySubject);
+        return buildAttendanceDashboard(statisticsService.getStatistics(studentId, semester));
     }
 
     /**
-     * Группирует записи посещаемости по предметам.
+     * Получает дашборд посещаемости студента по уже загруженному снимку учебных данных.
      *
-     * @param attendances список записей посещаемости
-     * @return структура сгруппированных записей по ID предмета
+     * @param snapshot снимок учебных данных студента
+     * @param semester семестр для фильтрации (может быть null)
+     * @return карточки посещаемости по ID предмета
      */
-    private Map<Long, List<Attendance>> groupAttendancesBySubject(List<Attendance> attendances) {
-        Map<Long, List<Attendance>> groupedBySubject = new HashMap<>();
-
-        for (Attendance attendance : attendances) {
-            if (attendance.getSubject() != null) {
-                Long subjectId = attendance.getSubject().getSubjectId();
-                List<Attendance> subjectAttendances = groupedBySubject.get(subjectId);
-                if (subjectAttendances == null) {
-                    subjectAttendances = new ArrayList<>();
-                    groupedBySubject.put(subjectId, subjectAttendances);
-                }
-                subjectAttendances.add(attendance);
-            }
-        }
-
-        return groupedBySubject;
+    @Timed("app.attendance.dashboard")
+    public Map<Long, AttendanceCard> getAttendanceDashboard(StudentAcademicSnapshot snapshot, Integer semester) {
+        return buildAttendanceDashboard(snapshot.forSemester(semester));
     }
 
     /**
-     * Строит данные дашборда посещаемости на основе сгруппированных записей.
+     * Строит данные дашборда посещаемости на основе предрассчитанной статистики по предметам.
+     * Предметы, по которым есть только оценки, в дашборд не попадают.
      *
-     * @param groupedBySubject сгруппированные записи посещаемости по предметам
-     * @return структура данных дашборда посещаемости
+     * @param statistics строки статистики по предметам
+     * @return карточки посещаемости по ID предмета
      */
-    private Map<Long, Map<String, Object>> buildAttendanceDashboard(Map<Long, List<Attendance>> groupedBySubject) {
-        Map<Long, Map<String, Object>> dashboard = new HashMap<>();
-
-        for (Map.Entry<Long, List<Attendance>> entry : groupedBySubject.entrySet()) {
-            Long subjectId = entry.getKey();
-            Optional<Subject> subjectOpt = subjectRepository.findById(subjectId);
-
-            if (subjectOpt.isPresent()) {
-                Subject subject = subjectOpt.get();
-                List<Attendance> attendances = entry.getValue();
-
-                Map<String, Object> subjectData = calculateAttendanceStatistics(attendances);
-                subjectData.put("subject", subject);
-
-                dashboard.put(subjectId, subjectData);
+    public Map<Long, AttendanceCard> buildAttendanceDashboard(List<StudentSubjectStatistics> statistics) {
+        Map<Long, AttendanceCard> dashboard = new LinkedHashMap<>(statistics.size() * 2);
+
+        for (StudentSubjectStatistics row : statistics) {
+            if (row.getAttendanceCount() > 0) {
+                dashboard.put(row.getSubject().getSubjectId(), new AttendanceCard(
+                        row.getSubject(),
+                        row.getPresentCount(),
+                        row.getAbsentCount(),
+                        row.getLateCount(),
+                        row.getAttendanceCount()));
             }
         }
 
@@ -103,116 +101,115 @@ public class AttendanceService {
     }
 
     /**
-     * Вычисляет статистику посещаемости по списку записей.
+     * Получает детализированную информацию по посещаемости для конкретного предмета.
+     * Возвращает первую страницу истории посещаемости.
      *
-     * @param attendances список записей посещаемости
-     * @return структура со статистикой: present, absent, late, total
+     * @param subjectId идентификатор предмета
+     * @param studentId идентификатор студента
+     * @param semester семестр для фильтрации
+     * @return детализированные данные или null если предмет не найден
+     * @throws IllegalArgumentException если subjectId или studentId равны null
      */
-    private Map<String, Object> calculateAttendanceStatistics(List<Attendance> attendances) {
-        long present = 0;
-        long absent = 0;
-        long late = 0;
-
-        for (Attendance att : attendances) {
-            Boolean isPresent = att.getIsPresent();
-            if (Boolean.TRUE.equals(isPresent)) {
-                present++;
-            } else if (Boolean.FALSE.equals(isPresent)) {
-                absent++;
-            } else {
-                late++;
-            }
-        }
-
-        Map<String, Object> statistics = new HashMap<>();
-        statistics.put("present", present);
-        statistics.put("absent", absent);
-        statistics.put("late", late);
-        statistics.put("total", (long) attendances.size());
-
-        return statistics;
+    public AttendanceDetails getAttendanceDetails(Long subjectId, Long studentId, Integer semester) {
+        return getAttendanceDetails(subjectId, studentId, semester, null);
     }
 
     /**
-     * Получает детализированную информацию по посещаемости для конкретного предмета.
+     * Получает детализированную информацию по посещаемости для конкретного предмета
+     * со страницей истории, начинающейся после указанной позиции.
+     * Количество и проценты посещений берутся из предрассчитанной статистики, а история
+     * загружается постранично по ключу (дата, идентификатор), поэтому время и память
+     * не зависят от длины истории.
      *
      * @param subjectId идентификатор предмета
      * @param studentId идентификатор студента
      * @param semester семестр для фильтрации
-     * @return структура с детализированными данными или null если предмет не найден
+     * @param cursor позиция последней показанной записи (null для первой страницы)
+     * @return детализированные данные или null если предмет не найден
      * @throws IllegalArgumentException если subjectId или studentId равны null
      */
-    public Map<String, Object> getAttendanceDetails(Long subjectId, Long studentId, Integer semester) {
+    public AttendanceDetails getAttendanceDetails(Long subjectId, Long studentId, Integer semester,
+                                                  AttendanceCursor cursor) {
         if (subjectId == null || studentId == null) {
             throw new IllegalArgumentException();
         }
 
-        Optional<Subject> subjectOpt = subjectRepository.findById(subjectId);
+        Optional<Subject> subjectOpt = subjectCatalog.findById(subjectId);
 
         if (subjectOpt.isEmpty()) {
             return null;
         }
 
         Subject subject = subjectOpt.get();
-        List<Attendance> attendances = attendanceRepository
-                .findByStudentIdAndSubjectSubjectIdOrderByAttendanceDateDesc(studentId, subjectId);
 
         if (semester != null && !Objects.equals(semester, subject.getSemester())) {
-            attendances = Collections.emptyList();
+            return createAttendanceDetails(subject, Collections.emptyList(), null, 0, 0, 0);
+        }
+
+        List<Attendance> attendances = findAttendancePage(studentId, subjectId, cursor, Limit.of(pageSize + 1));
+
+        AttendanceCursor nextCursor = null;
+        if (attendances.size() > pageSize) {
+            attendances = attendances.subList(0, pageSize);
+            Attendance last = attendances.get(pageSize - 1);
+            nextCursor = new AttendanceCursor(last.getAttendanceDate(), last.getAttendanceId());
         }
 
-        return createAttendanceDetails(subject, attendances);
+        Optional<StudentSubjectStatistics> statistics = statisticsService.getSubjectStatistics(studentId, subjectId);
+        return createAttendanceDetails(subject, attendances, nextCursor,
+                statistics.map(StudentSubjectStatistics::getPresentCount).orElse(0L),
+                statistics.map(StudentSubjectStatistics::getAbsentCount).orElse(0L),
+                statistics.map(StudentSubjectStatistics::getLateCount).orElse(0L));
     }
 
-    /**
-     * Создает детализированные данные по посещаемости.
-     *
-     * @param subject предмет
-     * @param attendances список записей посещаемости
-     * @return структура с детализированными данными
-     */
-    private Map<String, Object> createAttendanceDetails(Subject subject, List<Attendance> attendances) {
-        AttendanceStatistics statistics = calculateDetailedStatistics(attendances);
-        int totalCount = attendances.size();
-
-        Map<String, Object> details = new HashMap<>();
-        details.put("subject", subject);
-        details.put("attendances", attendances);
-        details.put("presentCount", statistics.presentCount());
-        details.put("absentCount", statistics.absentCount());
-        details.put("lateCount", statistics.lateCount());
-        details.put("totalClasses", totalCount);
-        details.put("attendancePercentage", calculatePercentage(statistics.presentCount(), totalCount));
-        details.put("presentPercentage", calculatePercentage(statistics.presentCount(), totalCount));
-        details.put("absentPercentage", calculatePercentage(statistics.absentCount(), totalCount));
-        details.put("latePercentage", calculatePercentage(statistics.lateCount(), totalCount));
-
-        return details;
+    private List<Attendance> findAttendancePage(Long studentId, Long subjectId, AttendanceCursor cursor, Limit limit) {
+        if (cursor == null) {
+            return attendanceRepository.findFirstPage(studentId, subjectId, limit);
+        }
+        if (cursor.attendanceDate() == null) {
+            return attendanceRepository.findUndatedPageAfter(studentId, subjectId, cursor.attendanceId(), limit);
+        }
+        List<Attendance> dated = attendanceRepository.findPageAfter(studentId, subjectId,
+                cursor.attendanceDate(), cursor.attendanceId(), limit);
+        if (dated.size() >= limit.max()) {
+            return dated;
+        }
+        // Записи с датой закончились: страница дополняется записями без даты, они идут последними
+        List<Attendance> page = new ArrayList<>(dated);
+        page.addAll(attendanceRepository.findUndatedPageAfter(studentId, subjectId, Long.MAX_VALUE,
+                Limit.of(limit.max() - dated.size())));
+        return page;
     }
 
     /**
-     * Вычисляет детализированную статистику посещаемости.
+     * Создает детализированные данные по посещаемости.
      *
-     * @param attendances список записей посещаемости
-     * @return объект статистики с количеством присутствий, отсутствий и опозданий
+     * @param subject предмет
+     * @param attendances записи посещаемости текущей страницы
+     * @param nextCursor позиция для следующей страницы (null если страница последняя)
+     * @param presentCount количество посещенных занятий
+     * @param absentCount количество пропусков
+     * @param lateCount количество опозданий
+     * @return детализированные данные
      */
-    private AttendanceStatistics calculateDetailedStatistics(List<Attendance> attendances) {
-        long presentCount = 0;
-        long absentCount = 0;
-        long lateCount = 0;
-
-        for (Attendance att : attendances) {
-            Boolean isPresent = att.getIsPresent();
-            if (Boolean.TRUE.equals(isPresent)) {
-                presentCount++;
-            } else if (Boolean.FALSE.equals(isPresent)) {
-                absentCount++;
-            } else {
-                lateCount++;
-            }
-        }
-
-        return new AttendanceStatistics(presentCount, absentCount, lateCount);
+    private AttendanceDetails createAttendanceDetails(Subject subject, List<Attendance> attendances,
+                                                      AttendanceCursor nextCursor,
+                                                      long presentCount, long absentCount, long lateCount) {
+        int totalCount = (int) (presentCount + absentCount + lateCount);
+        double presentPercentage = calculatePercentage(presentCount, totalCount);
+
+        return new AttendanceDetails(
+                subject,
+                attendances,
+                nextCursor,
+                presentCount,
+                absentCount,
+                lateCount,
+                totalCount,
+                presentPercentage,
+                presentPercentage,
+                calculatePercentage(absentCount, totalCount),
+                calculatePercentage(lateCount, totalCount));
     }
 
     /**
@@ -231,10 +228,4 @@ public class AttendanceService {
                 .setScale(2, RoundingMode.HALF_UP)
                 .doubleValue();
     }
-
-    /**
-     * Вспомогательная запись для хранения статистики посещаемости.
-     */
-    private record AttendanceStatistics(long presentCount, long absentCount, long lateCount) {
-    }
 }
\ No newline at end of file
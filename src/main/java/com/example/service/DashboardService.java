@@ -1,6 +1,8 @@
 package com.example.service;
 
-import com.example.model.Student;
+import com.example.dto.SemesterSummary;
+import com.example.dto.SubjectGradeCard;
+import com.example.security.StudentCredentials;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.ui.Model;
@@ -26,9 +28,9 @@ public class DashboardService {
      * Включает данные об оценках по предметам, имена преподавателей и средний балл.
      *
      * @param model объект модели для добавления атрибутов
-     * @param student объект студента
+     * @param student данные студента
      */
-    public void addStudentDataToModel(Model model, Student student) {
+    public void addStudentDataToModel(Model model, StudentCredentials student) {
         Integer currentSemester = getCurrentSemester();
         addStudentDataToModel(model, student, currentSemester);
     }
@@ -37,18 +39,17 @@ public class DashboardService {
      * Добавляет данные студента для отображения на главной странице с указанием семестра.
      *
      * @param model объект модели для добавления атрибутов
-     * @param student объект студента
+     * @param student данные студента
      * @param semester семестр для фильтрации данных
      */
-    public void addStudentDataToModel(Model model, Student student, Integer semester) {
-        Map<Long, Map<String, Object>> subjectsData = gradeService.getGradesDashboard(student.getId(), semester);
+    public void addStudentDataToModel(Model model, StudentCredentials student, Integer semester) {
+        Map<Long, SubjectGradeCard> subjectsData = gradeService.getGradesDashboard(student.getId(), semester);
         Map<Long, String> teacherNames = studentService.buildTeacherNames(subjectsData.keySet());
 
-        Double overallAverageGrade = calculateOverallAverageGrade(subjectsData.values());
+        double overallAverageGrade = calculateOverallAverageGrade(subjectsData.values());
 
         model.addAttribute("subjects", subjectsData.values());
         model.addAttribute("teacherNames", teacherNames);
-        model.addAttribute("group", student.getGroup());
         model.addAttribute("overallAverageGrade", overallAverageGrade);
         model.addAttribute("currentSemester", semester);
     }
@@ -61,7 +62,7 @@ public class DashboardService {
      * @param semester семестр для фильтрации
      */
     public void addSummaryDataToModel(Model model, Long studentId, Integer semester) {
-        Map<String, Object> summaryData = summaryService.getSummaryData(studentId, semester);
+        SemesterSummary summaryData = summaryService.getSummaryData(studentId, semester);
         model.addAttribute("summaryData", summaryData);
         model.addAttribute("currentSemester", semester);
     }
@@ -92,10 +93,10 @@ public class DashboardService {
      * Вычисляет общий средний балл студента по всем предметам.
      * Учитывает только предметы с валидными данными о среднем балле.
      *
-     * @param subjectsData коллекция данных по предметам
+     * @param subjectsData коллекция карточек предметов
      * @return общий средний балл или 0.0 если данные отсутствуют
      */
-    private Double calculateOverallAverageGrade(Collection<Map<String, Object>> subjectsData) {
+    private double calculateOverallAverageGrade(Collection<SubjectGradeCard> subjectsData) {
         if (subjectsData == null || subjectsData.isEmpty()) {
             return 0.0;
         }
@@ -103,14 +104,11 @@ public class DashboardService {
         double sum = 0.0;
         int count = 0;
 
-        for (Map<String, Object> subjectMap : subjectsData) {
-            Object avgGradeObj = subjectMap.get("avgGrade");
-            if (avgGradeObj instanceof Double) {
-                Double avgGrade = (Double) avgGradeObj;
-                if (avgGrade != null && avgGrade > 0) {
-                    sum += avgGrade;
-                    count++;
-                }
+        for (SubjectGradeCard card : subjectsData) {
+            Double avgGrade = card.avgGrade();
+            if (avgGrade != null && avgGrade > 0) {
+                sum += avgGrade;
+                count++;
             }
         }
 
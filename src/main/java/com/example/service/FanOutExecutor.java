@@ -0,0 +1,186 @@
+package com.example.service;
+
+import com.example.timing.RequestTiming;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Параллельное выполнение независимых запросов страницы на виртуальных потоках.
+ * Каждая подзадача получает контекст безопасности и замер Server-Timing вызывающего потока и выполняется
+ * в собственной транзакции только для чтения, поэтому возвращаемые сущности отсоединены
+ * и их связи должны быть загружены внутри подзадачи.
+ * Все подзадачи области ожидаются до общего срока app.fan-out.timeout: время ответа
+ * определяется самым медленным запросом, а не их суммой. Срок короче connection-timeout пула
+ * соединений, поэтому при перегрузке базы данных обязательная подзадача, не получившая соединение
+ * в срок, завершает запрос ответом 503 с заголовком Retry-After (app.fan-out.retry-after), а не 500.
+ * Необязательная подзадача при ошибке возвращает значение по умолчанию, пишет предупреждение в журнал
+ * и отмечается как неполная (Subtask.isDegraded), чтобы страница не выдавала его за данные.
+ */
+@Slf4j
+@Component
+public class FanOutExecutor {
+
+    private final ExecutorService executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long timeoutNanos;
+    private final long retryAfterSeconds;
+
+    public FanOutExecutor(PlatformTransactionManager transactionManager,
+                          @Value("${app.fan-out.timeout:PT2S}") Duration timeout,
+                          @Value("${app.fan-out.retry-after:PT1S}") Duration retryAfter) {
+        this.executor = new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.timeoutNanos = timeout.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * Открывает область параллельного выполнения. Срок ожидания отсчитывается с момента открытия.
+     *
+     * @return область, которую нужно закрыть после получения результатов
+     */
+    public Scope open() {
+        return new Scope(System.nanoTime() + timeoutNanos, retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Область параллельного выполнения. При закрытии незавершенные подзадачи отменяются.
+     */
+    public final class Scope implements AutoCloseable {
+
+        private final long deadline;
+        private final long retryAfterSeconds;
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private Scope(long deadline, long retryAfterSeconds) {
+            this.deadline = deadline;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        /**
+         * Запускает обязательную подзадачу: ее ошибка прерывает обработку запроса,
+         * а превышение срока завершает запрос ответом 503.
+         *
+         * @param task подзадача
+         * @return handle для получения результата
+         */
+        public <T> Subtask<T> fork(Supplier<T> task) {
+            return fork(task, true, null);
+        }
+
+        /**
+         * Запускает необязательную подзадачу: при ошибке или превышении срока
+         * вместо результата возвращается значение по умолчанию, а подзадача отмечается как неполная.
+         *
+         * @param task подзадача
+         * @param fallback значение для частичного результата
+         * @return handle для получения результата
+         */
+        public <T> Subtask<T> fork(Supplier<T> task, T fallback) {
+            return fork(task, false, fallback);
+        }
+
+        private <T> Subtask<T> fork(Supplier<T> task, boolean required, T fallback) {
+            Future<T> future = executor.submit(
+                    RequestTiming.propagate(() -> readOnlyTransaction.execute(status -> task.get())));
+            futures.add(future);
+            return new Subtask<>(future, deadline, retryAfterSeconds, required, fallback);
+        }
+
+        @Override
+        public void close() {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Результат подзадачи.
+     */
+    public static final class Subtask<T> {
+
+        private final Future<T> future;
+        private final long deadline;
+        private final long retryAfterSeconds;
+        private final boolean required;
+        private final T fallback;
+        private boolean degraded;
+
+        private Subtask(Future<T> future, long deadline, long retryAfterSeconds, boolean required, T fallback) {
+            this.future = future;
+            this.deadline = deadline;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.required = required;
+            this.fallback = fallback;
+        }
+
+        /**
+         * Ожидает результат подзадачи, но не дольше срока области.
+         *
+         * @return результат подзадачи или значение по умолчанию для необязательной подзадачи
+         * @throws ResponseStatusException 503 с Retry-After, если обязательная подзадача не завершилась в срок
+         * @throws IllegalStateException если обязательная подзадача завершилась проверяемым исключением
+         */
+        public T get() {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                if (required && e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (required) {
+                    throw new IllegalStateException(e.getCause());
+                }
+                log.warn("Подзадача завершилась ошибкой, используется значение по умолчанию", e.getCause());
+            } catch (TimeoutException | CancellationException e) {
+                future.cancel(true);
+                if (required) {
+                    throw new UnavailableException("Превышено время ожидания запроса", e, retryAfterSeconds);
+                }
+                log.warn("Подзадача не завершилась в срок, используется значение по умолчанию");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                if (required) {
+                    throw new UnavailableException("Ожидание запроса прервано", e, retryAfterSeconds);
+                }
+            }
+            degraded = true;
+            return fallback;
+        }
+
+        /**
+         * Проверяет, вернул ли get значение по умолчанию вместо результата.
+         *
+         * @return true если результат подзадачи недоступен
+         */
+        public boolean isDegraded() {
+            return degraded;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.service;
+
+import com.example.dto.GradeImportResult;
+import com.example.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Потоковый импорт оценок из CSV в таблицу academic_performance.
+ * Файл читается по одной строке. Студенты и предметы ищутся в памяти: номера билетов и предметы
+ * загружаются из базы данных в начале импорта (а не из кэшей, которые не видят записи в обход JPA).
+ * Проверенные строки записываются пакетами JDBC
+ * по app.grade-import.batch-size строк, каждый пакет в отдельной транзакции. Поэтому объем памяти
+ * зависит от числа студентов и размера пакета, но не от размера файла.
+ * Строки с ошибками пропускаются и попадают в итог импорта. Повторный импорт того же файла
+ * добавляет оценки еще раз.
+ * Запись идет в обход JPA, поэтому после импорта статистика пересчитывается целиком (StatisticsService.rebuildAll).
+ */
+@Slf4j
+@Service
+public class GradeImportService {
+
+    private static final String TICKET_COLUMN = "student_ticket_number";
+    private static final String SUBJECT_COLUMN = "subject";
+    private static final String GRADE_COLUMN = "grade";
+    private static final String WORK_TYPE_COLUMN = "work_type";
+    private static final String DATE_COLUMN = "assessment_date";
+    private static final String COMMENT_COLUMN = "comment";
+
+    private static final int MAX_ERRORS = 100;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final DateTimeFormatter RUSSIAN_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private static final String INSERT_GRADE = """
+            INSERT INTO academic_performance (student_id, subject_id, grade, work_type, assessment_date, comment)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatisticsService statisticsService;
+    private final int batchSize;
+    private final long progressInterval;
+
+    public GradeImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              StatisticsService statisticsService,
+                              @Value("${app.grade-import.batch-size:1000}") int batchSize,
+                              @Value("${app.grade-import.progress-interval:50000}") long progressInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statisticsService = statisticsService;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Импортирует оценки из CSV. Первая строка - заголовок с именами столбцов в любом порядке:
+     * student_ticket_number, subject (ID или название предмета), grade (от 1 до 5),
+     * assessment_date (yyyy-MM-dd или dd.MM.yyyy) и необязательные work_type и comment.
+     *
+     * @param reader источник CSV
+     * @return итог импорта
+     * @throws IOException если файл не удалось прочитать или в заголовке нет обязательных столбцов
+     */
+    public GradeImportResult importGrades(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        Map<String, Integer> columns = readHeader(csv.next());
+
+        Map<String, Long> studentIds = loadStudentIds();
+        SubjectLookup subjects = loadSubjects();
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<String> errors = new ArrayList<>();
+        long rowsRead = 0;
+        long imported = 0;
+        long rejected = 0;
+        try {
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                rowsRead++;
+                try {
+                    batch.add(parseRow(record, columns, studentIds, subjects));
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                    if (errors.size() < MAX_ERRORS) {
+                        errors.add("Строка " + csv.getLineNumber() + ": " + e.getMessage());
+                    }
+                }
+
+                if (batch.size() >= batchSize) {
+                    imported += writeBatch(batch);
+                }
+                if (rowsRead % progressInterval == 0) {
+                    log.info("Импорт оценок: прочитано {} строк, записано {}, отклонено {}", rowsRead, imported, rejected);
+                }
+            }
+            imported += writeBatch(batch);
+        } finally {
+            if (imported > 0) {
+                statisticsService.rebuildAll();
+            }
+        }
+
+        log.info("Импорт оценок завершен: прочитано {} строк, записано {}, отклонено {}", rowsRead, imported, rejected);
+        return new GradeImportResult(rowsRead, imported, rejected, errors);
+    }
+
+    private int writeBatch(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_GRADE, batch));
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private static Map<String, Integer> readHeader(List<String> header) throws IOException {
+        if (header == null) {
+            throw new IOException("Файл пуст");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of(TICKET_COLUMN, SUBJECT_COLUMN, GRADE_COLUMN, DATE_COLUMN)) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("В заголовке нет столбца " + required);
+            }
+        }
+        return columns;
+    }
+
+    private Map<String, Long> loadStudentIds() {
+        Map<String, Long> studentIds = new HashMap<>();
+        jdbcTemplate.query("SELECT student_ticket_number, student_id FROM students",
+                (RowCallbackHandler) rs -> studentIds.put(rs.getString(1), rs.getLong(2)));
+        return studentIds;
+    }
+
+    private SubjectLookup loadSubjects() {
+        SubjectLookup subjects = new SubjectLookup();
+        jdbcTemplate.query("SELECT subject_id, subject_name FROM subjects",
+                (RowCallbackHandler) rs -> subjects.add(rs.getLong(1), rs.getString(2)));
+        return subjects;
+    }
+
+    private static Object[] parseRow(List<String> record, Map<String, Integer> columns,
+                                     Map<String, Long> studentIds, SubjectLookup subjects) {
+        String ticket = field(record, columns, TICKET_COLUMN);
+        Long studentId = studentIds.get(ticket);
+        if (studentId == null) {
+            throw new IllegalArgumentException("студент с билетом '" + ticket + "' не найден");
+        }
+
+        Long subjectId = subjects.resolve(field(record, columns, SUBJECT_COLUMN));
+        int grade = parseGrade(field(record, columns, GRADE_COLUMN));
+        LocalDate date = parseDate(field(record, columns, DATE_COLUMN));
+        String workType = text(record, columns, WORK_TYPE_COLUMN);
+        String comment = text(record, columns, COMMENT_COLUMN);
+
+        return new Object[]{studentId, subjectId, grade, workType, date, comment};
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < record.size() ? record.get(index).trim() : "";
+    }
+
+    private static String text(List<String> record, Map<String, Integer> columns, String column) {
+        String value = field(record, columns, column);
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(column + " длиннее " + MAX_TEXT_LENGTH + " символов");
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int parseGrade(String value) {
+        try {
+            int grade = Integer.parseInt(value);
+            if (grade >= 1 && grade <= 5) {
+                return grade;
+            }
+        } catch (NumberFormatException ignored) {
+            // Сообщение об ошибке ниже
+        }
+        throw new IllegalArgumentException("оценка '" + value + "' должна быть числом от 1 до 5");
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return value.indexOf('.') >= 0 ? LocalDate.parse(value, RUSSIAN_DATE) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("дата '" + value + "' должна быть в формате yyyy-MM-dd или dd.MM.yyyy");
+        }
+    }
+
+    /**
+     * Поиск предмета по ID или названию. Название, которое есть у нескольких предметов
+     * (например, в разных семестрах), неоднозначно, и для него нужно указать ID.
+     */
+    private static final class SubjectLookup {
+
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<String, Long> byName = new HashMap<>();
+        private final Set<String> ambiguousNames = new HashSet<>();
+
+        private void add(long subjectId, String name) {
+            ids.add(subjectId);
+            if (name != null && byName.putIfAbsent(normalize(name), subjectId) != null) {
+                ambiguousNames.add(normalize(name));
+            }
+        }
+
+        private Long resolve(String value) {
+            if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+                Long subjectId = Long.parseLong(value);
+                if (!ids.contains(subjectId)) {
+                    throw new IllegalArgumentException("предмет с ID " + value + " не найден");
+                }
+                return subjectId;
+            }
+
+            String name = normalize(value);
+            if (ambiguousNames.contains(name)) {
+                throw new IllegalArgumentException("название предмета '" + value + "' неоднозначно, укажите ID");
+            }
+            Long subjectId = byName.get(name);
+            if (subjectId == null) {
+                throw new IllegalArgumentException("предмет '" + value + "' не найден");
+            }
+            return subjectId;
+        }
+
+        private static String normalize(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.service;
+
+import com.example.dto.RosterEntry;
+import com.example.event.StudentChangedEvent;
+import com.example.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Collator;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Сервис списков студентов групп для страницы входа.
+ * Список группы сортируется по имени по правилам русского языка и кэшируется в памяти
+ * вместе с ETag. Кэш сбрасывается после фиксации изменений студентов через JPA,
+ * а записи старше app.roster.ttl перечитываются, чтобы учесть изменения в обход JPA.
+ * Идентификатор группы приходит со страницы входа без аутентификации, поэтому пустые списки
+ * (несуществующая группа или группа без студентов) не кэшируются, а число групп в кэше ограничено
+ * app.roster.max-size: сверх него вытесняются давно не запрашивавшиеся группы (LRU).
+ */
+@Service
+@RequiredArgsConstructor
+public class GroupRosterService {
+
+    private static final Locale RUSSIAN = Locale.forLanguageTag("ru-RU");
+
+    private final StudentRepository studentRepository;
+
+    private final Map<Long, GroupRoster> rosters = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, GroupRoster> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    @Value("${app.roster.ttl:PT10M}")
+    private Duration ttl;
+
+    @Value("${app.roster.max-size:256}")
+    private int maxSize;
+
+    /**
+     * Получает отсортированный список студентов группы.
+     *
+     * @param groupId идентификатор группы
+     * @return список студентов с ETag
+     * @throws IllegalArgumentException если groupId равен null
+     */
+    public GroupRoster getRoster(Long groupId) {
+        if (groupId == null) {
+            throw new IllegalArgumentException();
+        }
+
+        GroupRoster roster;
+        synchronized (rosters) {
+            roster = rosters.get(groupId);
+        }
+        if (roster == null || roster.isExpired(ttl)) {
+            roster = load(groupId);
+            synchronized (rosters) {
+                if (roster.students().isEmpty()) {
+                    rosters.remove(groupId);
+                } else {
+                    rosters.put(groupId, roster);
+                }
+            }
+        }
+        return roster;
+    }
+
+    /**
+     * Сбрасывает кэш после фиксации изменения студента.
+     * Студент мог перейти в другую группу, поэтому очищаются списки всех групп.
+     *
+     * @param event событие изменения студента
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        synchronized (rosters) {
+            rosters.clear();
+        }
+    }
+
+    private GroupRoster load(Long groupId) {
+        List<RosterEntry> students = new ArrayList<>(studentRepository.findRosterByGroupId(groupId));
+        Collator collator = Collator.getInstance(RUSSIAN);
+        students.sort(Comparator.comparing(
+                (RosterEntry entry) -> Objects.toString(entry.fullName(), "").toLowerCase(RUSSIAN), collator)
+                .thenComparing(entry -> Objects.toString(entry.studentTicketNumber(), "")));
+
+        StringBuilder content = new StringBuilder();
+        for (RosterEntry student : students) {
+            content.append(student.fullName()).append('\n').append(student.studentTicketNumber()).append('\n');
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        return new GroupRoster(List.copyOf(students), etag, System.nanoTime());
+    }
+
+    /**
+     * Отсортированный список студентов группы.
+     *
+     * @param students студенты группы, отсортированные по имени
+     * @param etag ETag содержимого списка
+     * @param loadedAt момент загрузки по System.nanoTime()
+     */
+    public record GroupRoster(List<RosterEntry> students, String etag, long loadedAt) {
+
+        boolean isExpired(Duration ttl) {
+            return System.nanoTime() - loadedAt > ttl.toNanos();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.service;
+
+import com.example.dto.StudentAcademicSnapshot;
+import com.example.dto.SubjectAttendanceCounts;
+import com.example.event.AttendanceChangedEvent;
+import com.example.event.GradeChangedEvent;
+import com.example.model.StudentSubjectStatistics;
+import com.example.model.StudentSubjectStatisticsId;
+import com.example.repository.AttendanceRepository;
+import com.example.repository.StudentRepository;
+import com.example.repository.StudentSubjectStatisticsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Сервис предрассчитанной статистики студентов по предметам.
+ * После фиксации изменения оценки или отметки посещаемости статистика соответствующей пары
+ * студент-предмет пересчитывается по исходным таблицам. Все записи статистики (пересчет пары,
+ * предмета, полный пересчет, сверка и прием посещаемости) сначала блокируют свои предметы
+ * (StatisticsWriteLock), поэтому параллельные пересчеты не учитывают запись дважды и не вставляют
+ * одну строку статистики одновременно.
+ * При изменении студента или предмета у существующей записи старая пара не пересчитывается,
+ * для таких правок нужно вызвать rebuildAll. Счетчики посещаемости периодически сверяются
+ * с таблицей attendance (app.statistics.reconcile-interval), расхождения пересчитываются.
+ * После фиксации каждого изменения увеличивается версия данных студента (StudentDataVersionService).
+ */
+@Service
+@RequiredArgsConstructor
+public class StatisticsService {
+
+    private final StudentSubjectStatisticsRepository statisticsRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final StudentDataVersionService dataVersionService;
+    private final StatisticsWriteLock writeLock;
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.statistics.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${app.statistics.reconcile-chunk-size:500}")
+    private int reconcileChunkSize;
+
+    /**
+     * Получает статистику студента по предметам.
+     *
+     * @param studentId идентификатор студента
+     * @param semester семестр для фильтрации (может быть null)
+     * @return строки статистики по предметам, упорядоченные по ID предмета
+     * @throws IllegalArgumentException если studentId равен null
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSubjectStatistics> getStatistics(Long studentId, Integer semester) {
+        if (studentId == null) {
+            throw new IllegalArgumentException();
+        }
+        return statisticsRepository.findByStudentAndSemester(studentId, semester);
+    }
+
+    /**
+     * Получает статистику студента по одному предмету.
+     *
+     * @param studentId идентификатор студента
+     * @param subjectId идентификатор предмета
+     * @return строка статистики или пустой Optional, если по предмету нет оценок и посещаемости
+     */
+    @Transactional(readOnly = true)
+    public Optional<StudentSubjectStatistics> getSubjectStatistics(Long studentId, Long subjectId) {
+        return statisticsRepository.findById(new StudentSubjectStatisticsId(studentId, subjectId));
+    }
+
+    /**
+     * Загружает снимок учебных данных студента по всем семестрам одним запросом.
+     * Снимок предназначен для одного запроса: контроллер загружает его один раз
+     * и передает во все вычисления страницы.
+     *
+     * @param studentId идентификатор студента
+     * @return снимок статистики студента по всем предметам
+     * @throws IllegalArgumentException если studentId равен null
+     */
+    @Transactional(readOnly = true)
+    public StudentAcademicSnapshot getSnapshot(Long studentId) {
+        return new StudentAcademicSnapshot(studentId, getStatistics(studentId, null));
+    }
+
+    /**
+     * Обновляет статистику после фиксации изменения оценки.
+     *
+     * @param event событие изменения оценки
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onGradeChanged(GradeChangedEvent event) {
+        rebuild(event.studentId(), event.subjectId());
+    }
+
+    /**
+     * Обновляет статистику после фиксации изменения отметки посещаемости.
+     *
+     * @param event событие изменения посещаемости
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        rebuild(event.studentId(), event.subjectId());
+    }
+
+    /**
+     * Пересчитывает статистику пары студент-предмет по исходным таблицам.
+     *
+     * @param studentId идентификатор студента
+     * @param subjectId идентификатор предмета
+     */
+    @Transactional
+    public void rebuild(Long studentId, Long subjectId) {
+        writeLock.lock(subjectId);
+        statisticsRepository.deletePair(studentId, subjectId);
+        statisticsRepository.insertPairTotals(studentId, subjectId);
+        dataVersionService.invalidate(studentId);
+    }
+
+    /**
+     * Пересчитывает статистику студентов по одному предмету двумя запросами,
+     * например после записи посещаемости группы в обход JPA. Если вызывающий уже заблокировал
+     * предмет в своей транзакции (StatisticsWriteLock), повторная блокировка не ожидает.
+     *
+     * @param subjectId идентификатор предмета
+     * @param studentIds идентификаторы студентов
+     */
+    @Transactional
+    public void rebuildSubject(Long subjectId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+
+        writeLock.lock(subjectId);
+        statisticsRepository.deleteSubjectStudents(subjectId, studentIds);
+        statisticsRepository.insertSubjectStudentsTotals(subjectId, studentIds);
+        studentIds.forEach(dataVersionService::invalidate);
+    }
+
+    /**
+     * Полностью пересчитывает статистику всех студентов по исходным таблицам.
+     */
+    @Transactional
+    public void rebuildAll() {
+        writeLock.lockAll();
+        statisticsRepository.deleteAllRows();
+        statisticsRepository.insertAllTotals();
+        dataVersionService.invalidateAll();
+    }
+
+    /**
+     * Сверяет счетчики посещаемости в статистике с таблицей attendance и пересчитывает
+     * пары, которые разошлись, например после записи посещаемости в обход JPA.
+     * Студенты обходятся по возрастанию ID порциями по app.statistics.reconcile-chunk-size,
+     * каждая порция сверяется в отдельной короткой транзакции двумя сгруппированными запросами
+     * по студентам порции, поэтому в памяти одновременно находятся только счетчики одной порции.
+     *
+     * @return количество пересчитанных пар студент-предмет
+     */
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval:PT1H}",
+            initialDelayString = "${app.statistics.reconcile-interval:PT1H}")
+    public int reconcileAttendance() {
+        int rebuilt = 0;
+        Long afterId = 0L;
+        List<Long> studentIds;
+        do {
+            studentIds = studentRepository.findIdsAfter(afterId, Limit.of(reconcileChunkSize));
+            if (!studentIds.isEmpty()) {
+                List<Long> chunk = studentIds;
+                rebuilt += transactionTemplate.execute(status -> reconcileStudents(chunk));
+                afterId = studentIds.get(studentIds.size() - 1);
+            }
+        } while (studentIds.size() == reconcileChunkSize);
+        return rebuilt;
+    }
+
+    private int reconcileStudents(List<Long> studentIds) {
+        Set<SubjectAttendanceCounts> drifted = new HashSet<>(attendanceRepository.countByStudents(studentIds));
+        for (SubjectAttendanceCounts actual : statisticsRepository.findAttendanceCounts(studentIds)) {
+            if (!drifted.remove(actual) && actual.hasAttendance()) {
+                drifted.add(actual);
+            }
+        }
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+
+        Set<StudentSubjectStatisticsId> pairs = new HashSet<>();
+        for (SubjectAttendanceCounts counts : drifted) {
+            pairs.add(new StudentSubjectStatisticsId(counts.studentId(), counts.subjectId()));
+        }
+        writeLock.lock(pairs.stream().map(StudentSubjectStatisticsId::getSubjectId).toList());
+        for (StudentSubjectStatisticsId pair : pairs) {
+            rebuild(pair.getStudentId(), pair.getSubjectId());
+        }
+        return pairs.size();
+    }
+
+    /**
+     * Пересчитывает статистику при запуске приложения, чтобы учесть записи,
+     * добавленные в базу в обход JPA (например, SQL-скриптами).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        }
+    }
+}
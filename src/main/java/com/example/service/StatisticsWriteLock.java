@@ -0,0 +1,65 @@
+package com.example.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Блокировка, на которой упорядочиваются все записи в student_subject_statistics.
+ * Каждый пересчет статистики сначала блокирует строки предметов в subjects до конца своей транзакции,
+ * всегда в порядке subject_id, поэтому параллельные пересчеты одних и тех же пар выполняются
+ * по очереди (без повторного учета записей и нарушений первичного ключа) и не взаимоблокируются.
+ * В PostgreSQL используется FOR NO KEY UPDATE: такая блокировка не мешает вставке оценок
+ * и посещаемости, ссылающихся на предмет (FOR KEY SHARE). Другие базы данных (H2 в тестах)
+ * блокируют строки через FOR UPDATE.
+ */
+@Component
+class StatisticsWriteLock {
+
+    private static final String SELECT_SUBJECTS = "SELECT subject_id FROM subjects";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lockClause;
+
+    StatisticsWriteLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        this.lockClause = "PostgreSQL".equals(product) ? " FOR NO KEY UPDATE" : " FOR UPDATE";
+    }
+
+    /**
+     * Блокирует предмет до конца текущей транзакции.
+     *
+     * @param subjectId идентификатор предмета
+     */
+    void lock(Long subjectId) {
+        jdbcTemplate.queryForList(SELECT_SUBJECTS + " WHERE subject_id = ?" + lockClause, Long.class, subjectId);
+    }
+
+    /**
+     * Блокирует предметы до конца текущей транзакции в порядке subject_id.
+     *
+     * @param subjectIds идентификаторы предметов
+     * @return идентификаторы существующих предметов из переданных
+     */
+    Set<Long> lock(Collection<Long> subjectIds) {
+        if (subjectIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                SELECT_SUBJECTS + " WHERE subject_id = ANY(?) ORDER BY subject_id" + lockClause,
+                Long.class, (Object) subjectIds.toArray(Long[]::new)));
+    }
+
+    /**
+     * Блокирует все предметы до конца текущей транзакции в порядке subject_id (полный пересчет).
+     */
+    void lockAll() {
+        jdbcTemplate.queryForList(SELECT_SUBJECTS + " ORDER BY subject_id" + lockClause, Long.class);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.service;
+
+import com.example.event.AttendanceChangedEvent;
+import com.example.event.GradeChangedEvent;
+import com.example.event.StudentChangedEvent;
+import com.example.event.SubjectChangedEvent;
+import com.example.event.TeacherAssignmentChangedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Версии данных студентов для условных запросов страниц студента.
+ * Версия студента увеличивается при изменении его оценок, посещаемости или учетной записи,
+ * общая версия - при изменении предметов и преподавателей, которые видны всем студентам.
+ * Версии хранятся в памяти и включают идентификатор запуска приложения, поэтому после
+ * перезапуска все прежние ETag становятся недействительными.
+ * Увеличение версии внутри транзакции откладывается до ее фиксации: клиент, получивший
+ * новую версию, гарантированно прочитает уже зафиксированные данные. При изменении оценок
+ * и посещаемости версия увеличивается дважды: после фиксации самой записи и после фиксации
+ * пересчета статистики (StatisticsService), чтобы страница со старой статистикой не закрепилась
+ * под новым ETag.
+ * Импорт оценок выполняется в отдельном процессе и не видит версий веб-сервера, поэтому полный
+ * пересчет статистики также увеличивает версию в таблице data_version в своей транзакции.
+ * Веб-сервер читает ее раз в app.data-version.poll-interval и включает в версии всех студентов:
+ * после импорта прежние ETag и отрисованные страницы перестают совпадать не позже чем через
+ * этот интервал. Запросы страниц базу данных не читают.
+ */
+@Service
+public class StudentDataVersionService {
+
+    private static final String SELECT_PERSISTED = "SELECT version FROM data_version WHERE id = 1";
+    private static final String INCREMENT_PERSISTED = "UPDATE data_version SET version = version + 1 WHERE id = 1";
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final Map<Long, Long> studentVersions = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Версия из таблицы data_version на момент последнего чтения.
+     */
+    private volatile long persistedVersion;
+
+    public StudentDataVersionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Получает текущую версию данных студента.
+     *
+     * @param studentId идентификатор студента
+     * @return строка версии, меняющаяся при любом изменении данных студента
+     * @throws IllegalArgumentException если studentId равен null
+     */
+    public String getVersion(Long studentId) {
+        if (studentId == null) {
+            throw new IllegalArgumentException();
+        }
+
+        return epoch + ":" + persistedVersion + ":" + globalVersion.get()
+                + ":" + studentVersions.getOrDefault(studentId, 0L);
+    }
+
+    /**
+     * Увеличивает версию данных студента.
+     *
+     * @param studentId идентификатор студента (если null, вызов игнорируется)
+     */
+    public void invalidate(Long studentId) {
+        if (studentId != null) {
+            afterCommit(() -> increment(studentId));
+        }
+    }
+
+    /**
+     * Увеличивает общую версию, делая недействительными версии всех студентов, в том числе
+     * в других процессах приложения: версия в data_version увеличивается в текущей транзакции.
+     */
+    public void invalidateAll() {
+        jdbcTemplate.update(INCREMENT_PERSISTED);
+        afterCommit(globalVersion::incrementAndGet);
+    }
+
+    /**
+     * Периодически читает общую версию из data_version, чтобы учесть полный пересчет статистики
+     * в другом процессе (импорт оценок из командной строки).
+     */
+    @Scheduled(fixedDelayString = "${app.data-version.poll-interval:PT5S}",
+            initialDelayString = "${app.data-version.poll-interval:PT5S}")
+    public void pollPersistedVersion() {
+        Long version = jdbcTemplate.queryForObject(SELECT_PERSISTED, Long.class);
+        if (version != null) {
+            persistedVersion = version;
+        }
+    }
+
+    /**
+     * Увеличивает версию студента после фиксации изменения оценки.
+     *
+     * @param event событие изменения оценки
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGradeChanged(GradeChangedEvent event) {
+        if (event.studentId() != null) {
+            increment(event.studentId());
+        }
+    }
+
+    /**
+     * Увеличивает версию студента после фиксации изменения отметки посещаемости.
+     *
+     * @param event событие изменения посещаемости
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        if (event.studentId() != null) {
+            increment(event.studentId());
+        }
+    }
+
+    /**
+     * Увеличивает версию студента после фиксации изменения его учетной записи.
+     *
+     * @param event событие изменения студента
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.studentId() != null) {
+            increment(event.studentId());
+        }
+    }
+
+    /**
+     * Увеличивает общую версию после фиксации изменения предметов.
+     *
+     * @param event событие изменения предметов
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        globalVersion.incrementAndGet();
+    }
+
+    /**
+     * Увеличивает общую версию после фиксации изменения преподавателей.
+     *
+     * @param event событие изменения преподавателя или его предметов
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTeacherAssignmentChanged(TeacherAssignmentChangedEvent event) {
+        globalVersion.incrementAndGet();
+    }
+
+    private void increment(Long studentId) {
+        studentVersions.merge(studentId, 1L, Long::sum);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package com.example.service;
 
+import com.example.dto.StudentAcademicSnapshot;
 import com.example.model.Student;
-import com.example.model.AcademicPerformance;
-import com.example.model.Attendance;
 import com.example.repository.StudentRepository;
-import com.example.repository.AcademicPerformanceRepository;
-import com.example.repository.AttendanceRepository;
 import com.example.security.PersonDetails;
+import com.example.security.StudentCredentials;
 import com.example.util.PersonValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -22,11 +20,9 @@ import java.util.*;
 @RequiredArgsConstructor
 public class StudentService {
 
-    private final GradeService gradeService;
+    private final TeacherNameService teacherNameService;
     private final StudentRepository studentRepository;
     private final PersonValidator personValidator;
-    private final AcademicPerformanceRepository academicPerformanceRepository;
-    private final AttendanceRepository attendanceRepository;
 
     /**
      * Проверяет, аутентифицирован ли студент в системе на основе данных пользователя.
@@ -40,7 +36,7 @@ public class StudentService {
             return false;
         }
 
-        Student student = personDetails.student();
+        StudentCredentials student = personDetails.student();
         if (student == null) {
             return false;
         }
@@ -53,10 +49,10 @@ public class StudentService {
      * Включает полное имя студента, роль и активную страницу для навигации.
      *
      * @param model объект модели для добавления атрибутов
-     * @param student объект студента
+     * @param student данные студента
      * @param activePage название активной страницы для выделения в навигации
      */
-    public void addCommonAttributes(Model model, Student student, String activePage) {
+    public void addCommonAttributes(Model model, StudentCredentials student, String activePage) {
         model.addAttribute("fullName", student.getFullName());
         model.addAttribute("role", "ROLE_STUDENT");
         model.addAttribute("activePage", activePage);
@@ -64,18 +60,18 @@ public class StudentService {
 
     /**
      * Создает структуру соответствия идентификаторов предметов и имен преподавателей.
-     * Для каждого предмета получает список преподавателей и форматирует их в строку.
+     * Преподаватели всех предметов загружаются одним запросом (или берутся из кэша)
+     * и форматируются в строку.
      *
-     * @param subjectIds итерируемая коллекция идентификаторов предметов
+     * @param subjectIds коллекция идентификаторов предметов
      * @return структура где ключ - идентификатор предмета, значение - строка с именами преподавателей
      */
-    public Map<Long, String> buildTeacherNames(Iterable<Long> subjectIds) {
-        Map<Long, String> teacherNames = new HashMap<>();
+    public Map<Long, String> buildTeacherNames(Collection<Long> subjectIds) {
+        Map<Long, List<String>> teachersBySubject = teacherNameService.getTeacherNames(subjectIds);
+        Map<Long, String> teacherNames = new HashMap<>(teachersBySubject.size() * 2);
 
-        for (Long subjectId : subjectIds) {
-            List<String> teachers = gradeService.getTeacherNamesBySubjectId(subjectId);
-            String teacherNameString = buildTeacherNameString(teachers);
-            teacherNames.put(subjectId, teacherNameString);
+        for (Map.Entry<Long, List<String>> entry : teachersBySubject.entrySet()) {
+            teacherNames.put(entry.getKey(), buildTeacherNameString(entry.getValue()));
         }
 
         return teacherNames;
@@ -105,7 +101,8 @@ public class StudentService {
 
     /**
      * Обновляет пароль студента в системе.
-     * Выполняет поиск студента по ID и обновляет хэш пароля.
+     * Выполняет поиск студента по ID и обновляет хэш пароля. Данные студента удаляются из кэша
+     * аутентификации после фиксации изменения (StudentCredentialsCache.onStudentChanged).
      *
      * @param studentId идентификатор студента
      * @param newPasswordHash новый хэш пароля (уже закодированный)
@@ -125,28 +122,11 @@ public class StudentService {
     /**
      * Получает список доступных семестров для студента на основе имеющихся данных об оценках и посещаемости.
      *
-     * @param studentId идентификатор студента
+     * @param snapshot снимок учебных данных студента
      * @return список доступных семестров, отсортированный по возрастанию
      */
-    public List<Integer> getAvailableSemesters(Long studentId) {
-        Set<Integer> semesters = new HashSet<>();
-
-        List<AcademicPerformance> grades = academicPerformanceRepository.findByStudentId(studentId);
-        for (AcademicPerformance grade : grades) {
-            if (grade.getSubject() != null && grade.getSubject().getSemester() != null) {
-                semesters.add(grade.getSubject().getSemester());
-            }
-        }
-
-        List<Attendance> attendances = attendanceRepository.findByStudentId(studentId);
-        for (Attendance attendance : attendances) {
-            if (attendance.getSubject() != null && attendance.getSubject().getSemester() != null) {
-                semesters.add(attendance.getSubject().getSemester());
-            }
-        }
-
-        List<Integer> sortedSemesters = new ArrayList<>(semesters);
-        Collections.sort(sortedSemesters);
+    public List<Integer> getAvailableSemesters(StudentAcademicSnapshot snapshot) {
+        List<Integer> sortedSemesters = snapshot.semesters();
 
         return sortedSemesters.isEmpty() ? Arrays.asList(1, 2) : sortedSemesters;
     }
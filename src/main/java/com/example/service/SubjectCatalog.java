@@ -0,0 +1,138 @@
+package com.example.service;
+
+import com.example.event.SubjectChangedEvent;
+import com.example.model.Subject;
+import com.example.repository.SubjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Каталог предметов в памяти.
+ * Все предметы загружаются одним запросом в неизменяемый снимок: отсортированный массив
+ * идентификаторов и параллельный массив предметов, поиск выполняется двоичным поиском.
+ * Снимок заменяется целиком при изменении предметов через JPA и по расписанию
+ * (app.subject-catalog.refresh-interval), поэтому читатели не блокируются.
+ * Возвращаемые предметы общие для всех запросов и не должны изменяться.
+ */
+@Service
+@RequiredArgsConstructor
+public class SubjectCatalog {
+
+    private final SubjectRepository subjectRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Находит предмет по идентификатору.
+     * Если предмета нет в снимке, он ищется в базе данных, и при успехе каталог перечитывается:
+     * так учитываются предметы, добавленные в обход JPA после последнего обновления.
+     *
+     * @param subjectId идентификатор предмета
+     * @return предмет или пустой Optional, если предмет не найден
+     */
+    public Optional<Subject> findById(Long subjectId) {
+        if (subjectId == null) {
+            return Optional.empty();
+        }
+
+        Snapshot current = getSnapshot();
+        int index = Arrays.binarySearch(current.ids(), subjectId);
+        if (index >= 0) {
+            return Optional.of(current.subjects()[index]);
+        }
+
+        Optional<Subject> subject = subjectRepository.findById(subjectId);
+        if (subject.isPresent()) {
+            refresh();
+        }
+        return subject;
+    }
+
+    /**
+     * Возвращает все предметы, упорядоченные по идентификатору.
+     *
+     * @return неизменяемый список предметов
+     */
+    public List<Subject> findAll() {
+        return Collections.unmodifiableList(Arrays.asList(getSnapshot().subjects()));
+    }
+
+    /**
+     * Перечитывает предметы из базы данных и атомарно заменяет снимок.
+     */
+    public void refresh() {
+        List<Subject> subjects = new ArrayList<>(subjectRepository.findAll());
+        subjects.removeIf(subject -> subject.getSubjectId() == null);
+        subjects.sort((a, b) -> Long.compare(a.getSubjectId(), b.getSubjectId()));
+
+        long[] ids = new long[subjects.size()];
+        Subject[] values = new Subject[subjects.size()];
+        for (int i = 0; i < subjects.size(); i++) {
+            ids[i] = subjects.get(i).getSubjectId();
+            values[i] = subjects.get(i);
+        }
+
+        snapshot = new Snapshot(ids, values);
+    }
+
+    /**
+     * Загружает каталог при запуске приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * Периодически перечитывает каталог, чтобы учесть изменения, внесенные в обход JPA.
+     */
+    @Scheduled(fixedDelayString = "${app.subject-catalog.refresh-interval:PT10M}",
+            initialDelayString = "${app.subject-catalog.refresh-interval:PT10M}")
+    public void refreshOnSchedule() {
+        refresh();
+    }
+
+    /**
+     * Обновляет каталог после фиксации изменения предметов.
+     *
+     * @param event событие изменения предметов
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        refresh();
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    refresh();
+                    current = snapshot;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Неизменяемый снимок каталога.
+     *
+     * @param ids отсортированные идентификаторы предметов
+     * @param subjects предметы в порядке идентификаторов
+     */
+    private record Snapshot(long[] ids, Subject[] subjects) {
+    }
+}
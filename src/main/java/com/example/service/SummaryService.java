@@ -1,13 +1,18 @@
 package com.example.service;
 
+import com.example.dto.AttendanceCard;
+import com.example.dto.SemesterSummary;
+import com.example.dto.SemesterTrend;
+import com.example.dto.StudentAcademicSnapshot;
+import com.example.dto.SubjectGradeCard;
+import com.example.model.StudentSubjectStatistics;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.Calendar;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Сервис для формирования сводной информации об успеваемости и посещаемости студентов.
@@ -22,6 +27,7 @@ public class SummaryService {
 
     private final GradeService gradeService;
     private final AttendanceService attendanceService;
+    private final StatisticsService statisticsService;
 
     /**
      * Формирует сводные данные об успеваемости и посещаемости студента за указанный семестр.
@@ -29,33 +35,46 @@ public class SummaryService {
      *
      * @param studentId идентификатор студента для получения данных, не может быть null
      * @param semester семестр для фильтрации данных
-     * @return Map содержащая следующие ключи:
-     *         - "gradesData": данные об оценках по предметам
-     *         - "attendanceData": данные о посещаемости по предметам
-     *         - "overallAvgGrade": средний балл по всем предметам
-     *         - "overallAttendance": общий процент посещаемости
+     * @return сводка за семестр: карточки оценок и посещаемости по предметам,
+     *         средний балл по всем предметам и общий процент посещаемости
      * @throws IllegalArgumentException если studentId равен null
      */
-    public Map<String, Object> getSummaryData(Long studentId, Integer semester) {
+    @Timed("app.summary")
+    public SemesterSummary getSummaryData(Long studentId, Integer semester) {
         if (studentId == null) {
             throw new IllegalArgumentException("Student ID cannot be null");
         }
 
-        Map<String, Object> summary = new HashMap<>();
-
-        Map<Long, Map<String, Object>> gradesData = gradeService.getGradesDashboard(studentId, semester);
-        summary.put("gradesData", gradesData);
-
-        Map<Long, Map<String, Object>> attendanceData = attendanceService.getAttendanceDashboard(studentId, semester);
-        summary.put("attendanceData", attendanceData);
-
-        double overallAvgGrade = calculateOverallAvgGrade(gradesData);
-        summary.put("overallAvgGrade", overallAvgGrade);
+        return buildSummary(statisticsService.getStatistics(studentId, semester));
+    }
 
-        double overallAttendance = calculateOverallAttendance(attendanceData);
-        summary.put("overallAttendance", overallAttendance);
+    /**
+     * Формирует сводку за семестр по уже загруженному снимку учебных данных.
+     *
+     * @param snapshot снимок учебных данных студента
+     * @param semester семестр для фильтрации данных
+     * @return сводка за семестр
+     */
+    @Timed("app.summary")
+    public SemesterSummary getSummaryData(StudentAcademicSnapshot snapshot, Integer semester) {
+        return buildSummary(snapshot.forSemester(semester));
+    }
 
-        return summary;
+    /**
+     * Формирует сводку по строкам предрассчитанной статистики.
+     *
+     * @param statistics строки статистики по предметам
+     * @return сводка по переданным предметам
+     */
+    private SemesterSummary buildSummary(List<StudentSubjectStatistics> statistics) {
+        Map<Long, SubjectGradeCard> gradesData = gradeService.buildDashboardData(statistics);
+        Map<Long, AttendanceCard> attendanceData = attendanceService.buildAttendanceDashboard(statistics);
+
+        return new SemesterSummary(
+                gradesData,
+                attendanceData,
+                calculateOverallAvgGrade(gradesData),
+                calculateOverallAttendance(attendanceData));
     }
 
     /**
@@ -63,10 +82,11 @@ public class SummaryService {
      * Автоматически определяет текущий семестр на основе системной даты.
      *
      * @param studentId идентификатор студента для получения данных, не может быть null
-     * @return Map с сводными данными за текущий семестр
+     * @return сводка за текущий семестр
      * @throws IllegalArgumentException если studentId равен null
      */
-    public Map<String, Object> getSummaryData(Long studentId) {
+    @Timed("app.summary")
+    public SemesterSummary getSummaryData(Long studentId) {
         Integer currentSemester = getCurrentSemester();
         return getSummaryData(studentId, currentSemester);
     }
@@ -74,36 +94,35 @@ public class SummaryService {
     /**
      * Получает данные по семестрам для построения графиков трендов успеваемости и посещаемости.
      * Собирает данные за все доступные семестры (1 и 2) для отображения динамики изменений.
+     * Статистика загружается одним запросом и распределяется по семестрам предметов.
      *
      * @param studentId идентификатор студента, не может быть null
-     * @return Map с данными для графиков трендов:
-     *         - "semesters": список номеров семестров [1, 2]
-     *         - "grades": список средних баллов по семестрам
-     *         - "attendance": список процентов посещаемости по семестрам
+     * @return данные для графиков трендов: номера семестров [1, 2],
+     *         средние баллы и проценты посещаемости по семестрам
      */
-    public Map<String, Object> getSemesterTrendData(Long studentId) {
-        Map<String, Object> trendData = new HashMap<>();
-
-        List<Double> semesterGrades = new ArrayList<>();
-        List<Double> semesterAttendance = new ArrayList<>();
-        List<Integer> semesters = new ArrayList<>();
-
-        for (int semester = 1; semester <= 2; semester++) {
-            Map<String, Object> semesterData = getSummaryData(studentId, semester);
-
-            Double avgGrade = (Double) semesterData.get("overallAvgGrade");
-            Double attendance = (Double) semesterData.get("overallAttendance");
+    public SemesterTrend getSemesterTrendData(Long studentId) {
+        return getSemesterTrendData(statisticsService.getSnapshot(studentId));
+    }
 
-            semesterGrades.add(avgGrade != null ? avgGrade : 0.0);
-            semesterAttendance.add(attendance != null ? attendance : 0.0);
-            semesters.add(semester);
+    /**
+     * Получает данные для графиков трендов по уже загруженному снимку учебных данных.
+     *
+     * @param snapshot снимок учебных данных студента
+     * @return данные для графиков трендов: номера семестров [1, 2],
+     *         средние баллы и проценты посещаемости по семестрам
+     */
+    public SemesterTrend getSemesterTrendData(StudentAcademicSnapshot snapshot) {
+        int[] semesters = {1, 2};
+        double[] semesterGrades = new double[semesters.length];
+        double[] semesterAttendance = new double[semesters.length];
+
+        for (int i = 0; i < semesters.length; i++) {
+            SemesterSummary semesterData = buildSummary(snapshot.forSemester(semesters[i]));
+            semesterGrades[i] = semesterData.overallAvgGrade();
+            semesterAttendance[i] = semesterData.overallAttendance();
         }
 
-        trendData.put("semesters", semesters);
-        trendData.put("grades", semesterGrades);
-        trendData.put("attendance", semesterAttendance);
-
-        return trendData;
+        return new SemesterTrend(semesters, semesterGrades, semesterAttendance);
     }
 
     /**
@@ -122,30 +141,18 @@ public class SummaryService {
      * Вычисляет средний балл по всем предметам на основе данных об оценках.
      * Игнорирует предметы без данных о среднем балле или с нулевыми значениями.
      *
-     * @param gradesData данные оценок по предметам, где ключ - ID предмета,
-     *                   значение - Map с параметрами включая "avgGrade"
+     * @param gradesData карточки оценок по ID предмета
      * @return средний балл по всем предметам или 0.0 если данные отсутствуют
      */
-    private double calculateOverallAvgGrade(Map<Long, Map<String, Object>> gradesData) {
+    private double calculateOverallAvgGrade(Map<Long, SubjectGradeCard> gradesData) {
         double sum = 0.0;
         int count = 0;
 
-        for (Map.Entry<Long, Map<String, Object>> entry : gradesData.entrySet()) {
-            Object avgObj = entry.getValue().get("avgGrade");
-            if (avgObj != null) {
-                if (avgObj instanceof Double) {
-                    Double d = (Double) avgObj;
-                    if (d > 0) {
-                        sum += d;
-                        count++;
-                    }
-                } else if (avgObj instanceof Integer) {
-                    Integer i = (Integer) avgObj;
-                    if (i > 0) {
-                        sum += i.doubleValue();
-                        count++;
-                    }
-                }
+        for (SubjectGradeCard card : gradesData.values()) {
+            Double avgGrade = card.avgGrade();
+            if (avgGrade != null && avgGrade > 0) {
+                sum += avgGrade;
+                count++;
             }
         }
 
@@ -157,25 +164,16 @@ public class SummaryService {
      * Суммирует количество присутствий и общее количество занятий по всем предметам.
      * Возвращает 0.0 если отсутствуют данные о занятиях.
      *
-     * @param attendanceData данные посещаемости по предметам, где ключ - ID предмета,
-     *                       значение - Map с параметрами "present" и "total"
+     * @param attendanceData карточки посещаемости по ID предмета
      * @return процент посещаемости в диапазоне от 0.0 до 100.0 или 0.0 если занятия отсутствуют
      */
-    private double calculateOverallAttendance(Map<Long, Map<String, Object>> attendanceData) {
+    private double calculateOverallAttendance(Map<Long, AttendanceCard> attendanceData) {
         long totalPresent = 0;
         long totalClasses = 0;
 
-        for (Map.Entry<Long, Map<String, Object>> entry : attendanceData.entrySet()) {
-            Object presentObj = entry.getValue().get("present");
-            Object totalObj = entry.getValue().get("total");
-
-            if (presentObj != null && totalObj != null) {
-                long present = convertToLong(presentObj);
-                long total = convertToLong(totalObj);
-
-                totalPresent += present;
-                totalClasses += total;
-            }
+        for (AttendanceCard card : attendanceData.values()) {
+            totalPresent += card.present();
+            totalClasses += card.total();
         }
 
         if (totalClasses == 0) {
@@ -184,27 +182,4 @@ public class SummaryService {
 
         return (double) totalPresent / totalClasses * 100;
     }
-
-    /**
-     * Конвертирует объект в числовое значение типа long.
-     * Поддерживает конвертацию из Long, Integer и String.
-     * Возвращает 0L если конвертация невозможна или объект имеет неподдерживаемый тип.
-     *
-     * @param obj объект для конвертации
-     * @return числовое значение типа long; 0L если конвертация невозможна
-     */
-    private long convertToLong(Object obj) {
-        if (obj instanceof Long) {
-            return (Long) obj;
-        } else if (obj instanceof Integer) {
-            return ((Integer) obj).longValue();
-        } else if (obj instanceof String) {
-            try {
-                return Long.parseLong((String) obj);
-            } catch (NumberFormatException e) {
-                return 0L;
-            }
-        }
-        return 0L;
-    }
-}
\ No newline at end of file
+}
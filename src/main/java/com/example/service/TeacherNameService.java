@@ -0,0 +1,132 @@
+package com.example.service;
+
+import com.example.dto.SubjectTeacherName;
+import com.example.event.SubjectChangedEvent;
+import com.example.event.TeacherAssignmentChangedEvent;
+import com.example.repository.TeacherSubjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сервис имен преподавателей по предметам с кэшем в памяти.
+ * Недостающие в кэше предметы загружаются одним запросом. Кэшируются только предметы из каталога
+ * (SubjectCatalog), поэтому размер кэша ограничен числом предметов: для несуществующих ID
+ * возвращается пустой список без запроса и без записи в кэш. Кэш сбрасывается после фиксации
+ * изменений преподавателей, их закреплений за предметами и самих предметов; изменения, внесенные
+ * в базу в обход JPA, становятся видны после перезапуска приложения.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeacherNameService {
+
+    private final TeacherSubjectRepository teacherSubjectRepository;
+    private final SubjectCatalog subjectCatalog;
+
+    private final Map<Long, List<String>> teacherNamesBySubject = new ConcurrentHashMap<>();
+
+    /**
+     * Номер поколения кэша. Результат загрузки сохраняется, только если кэш
+     * не сбрасывали, пока выполнялся запрос.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Получает имена преподавателей для нескольких предметов.
+     *
+     * @param subjectIds идентификаторы предметов
+     * @return структура где ключ - идентификатор предмета, значение - список имен преподавателей
+     *         (пустой, если преподаватель не назначен или предмет не найден)
+     */
+    public Map<Long, List<String>> getTeacherNames(Collection<Long> subjectIds) {
+        Map<Long, List<String>> result = new HashMap<>(subjectIds.size() * 2);
+        Set<Long> missingIds = new HashSet<>();
+
+        for (Long subjectId : subjectIds) {
+            List<String> cached = teacherNamesBySubject.get(subjectId);
+            if (cached != null) {
+                result.put(subjectId, cached);
+            } else if (subjectId != null) {
+                if (subjectCatalog.findById(subjectId).isPresent()) {
+                    missingIds.add(subjectId);
+                } else {
+                    result.put(subjectId, List.of());
+                }
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            result.putAll(load(missingIds));
+        }
+
+        return result;
+    }
+
+    /**
+     * Получает имена преподавателей предмета.
+     *
+     * @param subjectId идентификатор предмета
+     * @return список имен преподавателей (пустой, если преподаватель не назначен или предмет не найден)
+     */
+    public List<String> getTeacherNames(Long subjectId) {
+        if (subjectId == null) {
+            return Collections.emptyList();
+        }
+        return getTeacherNames(Collections.singleton(subjectId)).get(subjectId);
+    }
+
+    /**
+     * Сбрасывает кэш после фиксации изменения преподавателей.
+     *
+     * @param event событие изменения преподавателя или его предметов
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTeacherAssignmentChanged(TeacherAssignmentChangedEvent event) {
+        evictAll();
+    }
+
+    /**
+     * Сбрасывает кэш после фиксации изменения предметов, чтобы удаленные предметы не оставались в кэше.
+     *
+     * @param event событие изменения предметов
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        evictAll();
+    }
+
+    /**
+     * Полностью очищает кэш имен преподавателей.
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        teacherNamesBySubject.clear();
+    }
+
+    private Map<Long, List<String>> load(Set<Long> subjectIds) {
+        long loadGeneration = generation.get();
+
+        Map<Long, List<String>> loaded = new HashMap<>(subjectIds.size() * 2);
+        for (Long subjectId : subjectIds) {
+            loaded.put(subjectId, new ArrayList<>());
+        }
+        for (SubjectTeacherName row : teacherSubjectRepository.findTeacherNamesBySubjectIds(subjectIds)) {
+            loaded.get(row.subjectId()).add(row.teacherName());
+        }
+        loaded.replaceAll((subjectId, names) -> List.copyOf(names));
+
+        if (generation.get() == loadGeneration) {
+            teacherNamesBySubject.putAll(loaded);
+            if (generation.get() != loadGeneration) {
+                teacherNamesBySubject.clear();
+            }
+        }
+
+        return loaded;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.service;
+
+import com.example.dto.TranscriptAttendance;
+import com.example.dto.TranscriptGrade;
+import com.example.repository.AcademicPerformanceRepository;
+import com.example.repository.AttendanceRepository;
+import com.example.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Выгрузка полной выписки успеваемости студента (оценки и посещаемость за все семестры) в CSV или JSON.
+ * Записи читаются из базы данных потоком с курсором (AcademicPerformanceRepository.streamTranscript,
+ * AttendanceRepository.streamTranscript) и сразу записываются в выходной поток, поэтому объем памяти
+ * не зависит от длины истории студента.
+ * На время выгрузки заняты соединение с базой данных и транзакция, а скорость выгрузки определяет клиент.
+ * Поэтому одновременно выполняется не больше app.transcript.max-concurrent-exports выгрузок (меньше размера
+ * пула соединений, чтобы страницам всегда оставались соединения), остальные получают 503 с Retry-After.
+ * Выгрузка, не завершившаяся за app.transcript.timeout, прерывается с откатом транзакции: этот срок
+ * также задан как тайм-аут транзакции и ограничивает время каждого SQL-запроса.
+ */
+@Service
+public class TranscriptExportService {
+
+    /**
+     * Формат выписки.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        JSON("application/json", "json");
+
+        private final String contentType;
+        private final String extension;
+    }
+
+    /**
+     * Получатель выписки. Поток открывается только после того, как выгрузка получила разрешение,
+     * поэтому при отказе ответ еще не содержит заголовков файла.
+     */
+    @FunctionalInterface
+    public interface Target {
+
+        /**
+         * Подготавливает ответ и возвращает поток для записи выписки.
+         *
+         * @return выходной поток (не закрывается выгрузкой)
+         * @throws IOException если поток не удалось открыть
+         */
+        OutputStream open() throws IOException;
+    }
+
+    /**
+     * Метка порядка байтов UTF-8, по которой Excel распознает кодировку CSV.
+     */
+    private static final char BOM = '\uFEFF';
+    private static final char CSV_DELIMITER = ';';
+
+    private final AcademicPerformanceRepository academicPerformanceRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore exports;
+    private final int maxConcurrentExports;
+    private final int poolSize;
+    private final long timeoutNanos;
+    private final long retryAfterSeconds;
+
+    public TranscriptExportService(AcademicPerformanceRepository academicPerformanceRepository,
+                                   AttendanceRepository attendanceRepository, ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.transcript.max-concurrent-exports:2}") int maxConcurrentExports,
+                                   @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                   @Value("${app.transcript.timeout:PT2M}") Duration timeout,
+                                   @Value("${app.transcript.retry-after:PT10S}") Duration retryAfter) {
+        this.academicPerformanceRepository = academicPerformanceRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout((int) Math.max(1, timeout.toSeconds()));
+        this.exports = new Semaphore(Math.max(0, maxConcurrentExports));
+        this.maxConcurrentExports = maxConcurrentExports;
+        this.poolSize = poolSize;
+        this.timeoutNanos = timeout.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * Проверяет лимит выгрузок при запуске: выгрузки не должны занимать весь пул соединений.
+     *
+     * @throws IllegalStateException если app.transcript.max-concurrent-exports меньше 1
+     *                               или не меньше размера пула соединений
+     */
+    @PostConstruct
+    void validateMaxConcurrentExports() {
+        if (maxConcurrentExports < 1 || maxConcurrentExports >= poolSize) {
+            throw new IllegalStateException("app.transcript.max-concurrent-exports должен быть от 1 до "
+                    + (poolSize - 1) + " (размер пула соединений " + poolSize + "): " + maxConcurrentExports);
+        }
+    }
+
+    /**
+     * Записывает выписку студента в поток получателя.
+     * CSV содержит строки оценок (record_type = grade) и посещаемости (record_type = attendance)
+     * с общим заголовком и разделителем ';'. JSON - объект с массивами grades и attendance.
+     *
+     * @param studentId идентификатор студента
+     * @param format формат выписки
+     * @param target получатель выписки
+     * @throws IOException если произошла ошибка записи
+     * @throws ResponseStatusException 503 с Retry-After, если уже выполняется максимальное число выгрузок
+     * @throws TransactionTimedOutException если выгрузка не завершилась за app.transcript.timeout
+     */
+    public void export(Long studentId, Format format, Target target) throws IOException {
+        if (!exports.tryAcquire()) {
+            throw new UnavailableException("Выполняется слишком много выгрузок выписок", null, retryAfterSeconds);
+        }
+        try {
+            OutputStream out = target.open();
+            long deadline = System.nanoTime() + timeoutNanos;
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeCsv(studentId, out, deadline);
+                    } else {
+                        writeJson(studentId, out, deadline);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            exports.release();
+        }
+    }
+
+    private void writeCsv(Long studentId, OutputStream out, long deadline) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(BOM);
+        CsvWriter csv = new CsvWriter(writer, CSV_DELIMITER);
+        csv.write("record_type", "semester", "subject", "date", "work_type", "grade", "status", "comment");
+
+        try (Stream<TranscriptGrade> grades = academicPerformanceRepository.streamTranscript(studentId)) {
+            for (Iterator<TranscriptGrade> it = grades.iterator(); it.hasNext(); ) {
+                TranscriptGrade grade = it.next();
+                checkDeadline(deadline);
+                csv.write("grade", grade.semester(), grade.subjectName(), grade.date(), grade.workType(),
+                        grade.grade(), null, grade.comment());
+            }
+        }
+        try (Stream<TranscriptAttendance> attendance = attendanceRepository.streamTranscript(studentId)) {
+            for (Iterator<TranscriptAttendance> it = attendance.iterator(); it.hasNext(); ) {
+                TranscriptAttendance mark = it.next();
+                checkDeadline(deadline);
+                csv.write("attendance", mark.semester(), mark.subjectName(), mark.date(), null,
+                        null, mark.status(), mark.comment());
+            }
+        }
+        csv.flush();
+    }
+
+    private void writeJson(Long studentId, OutputStream out, long deadline) throws IOException {
+        try (JsonGenerator json = objectMapper.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            json.writeStartObject();
+            json.writeNumberField("studentId", studentId);
+
+            json.writeArrayFieldStart("grades");
+            try (Stream<TranscriptGrade> grades = academicPerformanceRepository.streamTranscript(studentId)) {
+                for (Iterator<TranscriptGrade> it = grades.iterator(); it.hasNext(); ) {
+                    checkDeadline(deadline);
+                    json.writeObject(it.next());
+                }
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("attendance");
+            try (Stream<TranscriptAttendance> attendance = attendanceRepository.streamTranscript(studentId)) {
+                for (Iterator<TranscriptAttendance> it = attendance.iterator(); it.hasNext(); ) {
+                    checkDeadline(deadline);
+                    json.writeObject(it.next());
+                }
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Прерывает выгрузку, если клиент читает ее дольше app.transcript.timeout: тайм-аут транзакции
+     * ограничивает только выполнение SQL-запросов, а не чтение уже открытого курсора.
+     */
+    private static void checkDeadline(long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw new TransactionTimedOutException("Выгрузка выписки не завершилась в отведенное время");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Ответ 503 с заголовком Retry-After: запрос не может быть обработан сейчас, но может быть повторен позже.
+ */
+class UnavailableException extends ResponseStatusException {
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    UnavailableException(String reason, Throwable cause, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason, cause);
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Отметка завершения Spring Security в запросах с Server-Timing.
+ * Фильтр выполняется сразу после цепочки Spring Security и записывает время от начала запроса
+ * до этого момента как этап auth: загрузку контекста безопасности из сессии и проверку доступа.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class AuthenticationTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.recordSinceStart(RequestTiming.AUTH);
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Замер отрисовки шаблона Thymeleaf в запросах с Server-Timing:
+ * от завершения контроллера (postHandle) до завершения отрисовки представления (afterCompletion).
+ */
+@Component
+public class RenderTimingInterceptor implements HandlerInterceptor {
+
+    private static final String RENDER_START_ATTRIBUTE = RenderTimingInterceptor.class.getName() + ".START";
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (RequestTiming.current() != null && modelAndView != null) {
+            request.setAttribute(RENDER_START_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null && request.getAttribute(RENDER_START_ATTRIBUTE) instanceof Long start) {
+            timing.record(RequestTiming.RENDER, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Время этапов обработки одного запроса: аутентификации, вызовов сервисов, SQL-запросов и отрисовки шаблона.
+ * Привязывается к потоку запроса в ServerTimingFilter и передается подзадачам FanOutExecutor,
+ * поэтому этапы могут записываться из нескольких потоков.
+ * Вне запроса с замером current() возвращает null, и этапы не записываются.
+ */
+public final class RequestTiming {
+
+    public static final String AUTH = "auth";
+    public static final String DB = "db";
+    public static final String RENDER = "render";
+    public static final String TOTAL = "total";
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    RequestTiming() {
+    }
+
+    /**
+     * Получает замер запроса, обрабатываемого текущим потоком.
+     *
+     * @return замер или null, если поток не обрабатывает запрос с замером
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Оборачивает задачу так, чтобы она записывала этапы в замер текущего запроса
+     * при выполнении в другом потоке.
+     *
+     * @param task задача
+     * @return задача с замером текущего запроса или исходная задача вне запроса с замером
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        RequestTiming timing = current();
+        if (timing == null) {
+            return task;
+        }
+        return () -> {
+            RequestTiming previous = current();
+            bind(timing);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    bind(previous);
+                } else {
+                    unbind();
+                }
+            }
+        };
+    }
+
+    /**
+     * Добавляет время к этапу. Повторные записи одного этапа суммируются.
+     *
+     * @param name имя этапа
+     * @param nanos длительность в наносекундах
+     */
+    public synchronized void record(String name, long nanos) {
+        phases.computeIfAbsent(name, key -> new Phase()).add(nanos);
+    }
+
+    /**
+     * Записывает этап, длившийся с начала запроса до текущего момента.
+     *
+     * @param name имя этапа
+     */
+    synchronized void recordSinceStart(String name) {
+        if (!phases.containsKey(name)) {
+            record(name, elapsedNanos());
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Формирует значение заголовка Server-Timing. Длительности указываются в миллисекундах,
+     * для этапов, записанных несколько раз, в описании указывается число записей.
+     *
+     * @param totalNanos общая длительность запроса
+     * @return значение заголовка
+     */
+    synchronized String toHeaderValue(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        phases.forEach((name, phase) -> {
+            header.append(name).append(";dur=").append(formatMillis(phase.nanos));
+            if (phase.count > 1) {
+                header.append(";desc=\"x").append(phase.count).append('"');
+            }
+            header.append(", ");
+        });
+        return header.append(TOTAL).append(";dur=").append(formatMillis(totalNanos)).toString();
+    }
+
+    static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class Phase {
+
+        private long count;
+        private long nanos;
+
+        private void add(long nanos) {
+            this.count++;
+            this.nanos += nanos;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Заголовок Server-Timing для страниц студента и входа в систему.
+ * Фильтр выполняется перед Spring Security и привязывает к запросу RequestTiming, в который
+ * записываются аутентификация (AuthenticationTimingFilter), вызовы сервисов (ServiceTimingAspect),
+ * SQL-запросы (SqlTimingSessionListener) и отрисовка шаблона (RenderTimingInterceptor).
+ * Тело ответа буферизуется, чтобы заголовок можно было добавить после отрисовки, поэтому выгрузка
+ * выписки (/student/transcript) не замеряется.
+ * Разбивка раскрывает внутреннее устройство приложения, поэтому заголовок отправляется только
+ * при app.server-timing.expose-header = true (профиль dev) и только аутентифицированным пользователям.
+ * Завершенные запросы передаются в SlowRequestsEndpoint независимо от заголовка.
+ * Отключается свойством app.server-timing.enabled.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String TRANSCRIPT_PATH = "/student/transcript";
+
+    private final SlowRequestsEndpoint slowRequests;
+    private final boolean exposeHeader;
+
+    public ServerTimingFilter(SlowRequestsEndpoint slowRequests,
+                              @Value("${app.server-timing.expose-header:false}") boolean exposeHeader) {
+        this.slowRequests = slowRequests;
+        this.exposeHeader = exposeHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        // Выписка записывается в поток ответа по мере чтения и не должна буферизоваться целиком
+        return !path.startsWith("/student/") && !path.equals("/login") || path.equals(TRANSCRIPT_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TimedResponse timedResponse = new TimedResponse(response, new RequestTiming(),
+                exposeHeader ? request : null);
+        RequestTiming.bind(timedResponse.timing);
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            RequestTiming.unbind();
+            timedResponse.finish();
+            timedResponse.copyBodyToResponse();
+            slowRequests.add(new SlowRequestsEndpoint.TimedRequest(Instant.now(), request.getMethod(),
+                    getUri(request), timedResponse.getStatus(), timedResponse.totalNanos / 1_000_000.0,
+                    timedResponse.serverTiming));
+        }
+    }
+
+    private static String getUri(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query != null ? request.getRequestURI() + "?" + query : request.getRequestURI();
+    }
+
+    /**
+     * Проверяет, что пользователь аутентифицирован. После цепочки Spring Security контекст безопасности
+     * потока уже очищен, поэтому аутентификация берется из сессии; вход сохраняет ее в сессию
+     * до перенаправления.
+     */
+    private static boolean isAuthenticated(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return false;
+        }
+        Object context = session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        Authentication authentication = context instanceof SecurityContext securityContext
+                ? securityContext.getAuthentication() : null;
+        return authentication != null && authentication.isAuthenticated();
+    }
+
+    /**
+     * Буферизованный ответ, в который заголовок Server-Timing добавляется после обработки запроса
+     * или перед перенаправлением и ошибкой, которые отправляют ответ сразу.
+     * Если запрос не передан, заголовок не добавляется.
+     */
+    private static final class TimedResponse extends ContentCachingResponseWrapper {
+
+        private final RequestTiming timing;
+        private final HttpServletRequest request;
+        private long totalNanos;
+        private String serverTiming;
+
+        private TimedResponse(HttpServletResponse response, RequestTiming timing, HttpServletRequest request) {
+            super(response);
+            this.timing = timing;
+            this.request = request;
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            finish();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            finish();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            finish();
+            super.sendError(sc, msg);
+        }
+
+        private void finish() {
+            if (serverTiming != null) {
+                return;
+            }
+            // Запрос завершен в цепочке Spring Security (вход, перенаправление на страницу входа)
+            timing.recordSinceStart(RequestTiming.AUTH);
+            totalNanos = timing.elapsedNanos();
+            serverTiming = timing.toHeaderValue(totalNanos);
+            if (request != null && !isCommitted() && isAuthenticated(request)) {
+                setHeader(SERVER_TIMING, serverTiming);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Замер вызовов сервисов (@Service) в запросах с Server-Timing.
+ * Каждый метод записывается отдельным этапом svc.Класс.метод; вложенные вызовы сервисов
+ * входят и в собственный этап, и в этап вызывающего метода.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceTimingAspect {
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.record("svc." + joinPoint.getTarget().getClass().getSimpleName()
+                    + "." + joinPoint.getSignature().getName(), System.nanoTime() - start);
+        }
+    }
+}
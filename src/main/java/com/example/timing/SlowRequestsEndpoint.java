@@ -0,0 +1,72 @@
+package com.example.timing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Отладочная страница самых медленных из последних запросов с Server-Timing (/actuator/slowrequests).
+ * Хранит последние app.server-timing.recent-requests запросов и показывает самые медленные из них
+ * вместе с разбивкой по этапам.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowRequestsEndpoint {
+
+    private static final int SLOWEST_LIMIT = 20;
+
+    private final int capacity;
+    private final Deque<TimedRequest> recent = new ArrayDeque<>();
+
+    public SlowRequestsEndpoint(@Value("${app.server-timing.recent-requests:200}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Сохраняет завершенный запрос, вытесняя самый старый при заполнении.
+     *
+     * @param request завершенный запрос
+     */
+    public synchronized void add(TimedRequest request) {
+        if (recent.size() >= capacity) {
+            recent.removeFirst();
+        }
+        recent.addLast(request);
+    }
+
+    /**
+     * Получает самые медленные из последних запросов.
+     *
+     * @return запросы по убыванию длительности
+     */
+    @ReadOperation
+    public synchronized List<TimedRequest> slowest() {
+        return recent.stream()
+                .sorted(Comparator.comparingDouble(TimedRequest::durationMs).reversed())
+                .limit(SLOWEST_LIMIT)
+                .toList();
+    }
+
+    /**
+     * Завершенный запрос.
+     *
+     * @param finishedAt время завершения
+     * @param method HTTP-метод
+     * @param uri путь и параметры запроса
+     * @param status статус ответа
+     * @param durationMs длительность в миллисекундах
+     * @param serverTiming значение заголовка Server-Timing
+     */
+    public record TimedRequest(Instant finishedAt, String method, String uri, int status,
+                               double durationMs, String serverTiming) {
+    }
+}
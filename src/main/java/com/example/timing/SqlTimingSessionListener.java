@@ -0,0 +1,41 @@
+package com.example.timing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Замер выполнения SQL-запросов Hibernate в запросах с Server-Timing.
+ * Создается Hibernate для каждой сессии (hibernate.session.events.auto), поэтому хранит
+ * время начала текущего запроса сессии в поле. Время всех запросов суммируется в этапе db.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.record(RequestTiming.DB, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Потоковое чтение CSV по одной записи.
+ * Поддерживает поля в кавычках (с разделителями, переводами строк и удвоенными кавычками внутри)
+ * и окончания строк LF и CRLF. Разделитель определяется по первой строке: точка с запятой
+ * (выгрузка Excel в русской локали) или запятая.
+ * В памяти хранится только текущая запись, поэтому объем памяти не зависит от размера файла.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+    private static final int MAX_HEADER_LENGTH = 8192;
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private char delimiter;
+    private long lineNumber;
+
+    public CsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Читает следующую запись. Пустые строки пропускаются.
+     *
+     * @return поля записи или null, если файл закончился
+     * @throws IOException если произошла ошибка чтения или кавычка не закрыта
+     */
+    public List<String> next() throws IOException {
+        if (delimiter == 0) {
+            delimiter = detectDelimiter();
+        }
+
+        List<String> record = readRecord();
+        while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+            record = readRecord();
+        }
+        return record;
+    }
+
+    /**
+     * Возвращает номер строки файла, на которой закончилась последняя прочитанная запись.
+     *
+     * @return номер строки, начиная с 1
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == EOF) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        long firstLine = lineNumber + 1;
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Незакрытая кавычка в строке " + firstLine);
+                }
+                if (c == '"' && peek() == '"') {
+                    reader.read();
+                    field.append('"');
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == EOF) {
+                if (c == '\r' && peek() == '\n') {
+                    reader.read();
+                }
+                lineNumber++;
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private int peek() throws IOException {
+        reader.mark(1);
+        int c = reader.read();
+        reader.reset();
+        return c;
+    }
+
+    /**
+     * Определяет разделитель по первой строке и пропускает метку порядка байтов UTF-8.
+     */
+    private char detectDelimiter() throws IOException {
+        reader.mark(MAX_HEADER_LENGTH);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        reader.mark(MAX_HEADER_LENGTH);
+        String header = reader.readLine();
+        reader.reset();
+        return header != null && header.indexOf(';') >= 0 ? ';' : ',';
+    }
+}
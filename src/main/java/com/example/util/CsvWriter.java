@@ -0,0 +1,74 @@
+package com.example.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Потоковая запись CSV по одной записи в формате, который читает CsvReader.
+ * Поля с разделителем, кавычками или переводами строк заключаются в кавычки, кавычки внутри удваиваются.
+ * Строки заканчиваются CRLF. Значение null записывается как пустое поле.
+ * Перед полем, которое начинается с =, +, -, @, табуляции или возврата каретки, записывается апостроф:
+ * иначе Excel выполнит такое поле как формулу (CSV-инъекция). CsvReader возвращает поле с апострофом.
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final Writer writer;
+    private final char delimiter;
+
+    public CsvWriter(Writer writer, char delimiter) {
+        this.writer = writer;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Записывает одну запись.
+     *
+     * @param fields значения полей (преобразуются через toString)
+     * @throws IOException если произошла ошибка записи
+     */
+    public void write(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.util;
+
+import com.example.model.AcademicPerformance;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Накопитель статистики по оценкам за один проход.
+ * Считает средневзвешенный балл, минимум, максимум, последнюю оценку, распределение
+ * оценок по значениям и по категориям (отлично, хорошо, удовлетворительно, неудовлетворительно).
+ * Все счетчики хранятся в примитивных полях, экземпляр не потокобезопасен.
+ */
+public final class GradeStatistics {
+
+    /**
+     * Веса типов работ для расчета средневзвешенного балла.
+     * Продублированы в запросах пересчета StudentSubjectStatisticsRepository,
+     * совпадение проверяет GradeStatisticsTest.
+     */
+    static final Map<String, Double> WORK_TYPE_WEIGHTS = Map.of(
+            "Экзамен", 3.0,
+            "Контрольная работа", 2.0,
+            "Урок", 1.0,
+            "Домашнее задание", 1.0);
+
+    private static final double DEFAULT_WEIGHT = 1.0;
+    private static final int MAX_GRADE_VALUE = 5;
+
+    private long totalCount;
+    private double weightedSum;
+    private double totalWeight;
+    private int minGrade = Integer.MAX_VALUE;
+    private int maxGrade = Integer.MIN_VALUE;
+    private int lastGrade;
+    private LocalDate lastGradeDate;
+    private final long[] histogram = new long[MAX_GRADE_VALUE + 1];
+    private long excellentCount;
+    private long goodCount;
+    private long satisfactoryCount;
+    private long unsatisfactoryCount;
+
+    /**
+     * Возвращает вес типа работы.
+     *
+     * @param workType тип работы
+     * @return вес типа работы или 1.0 для неизвестных типов
+     */
+    public static double weightOf(String workType) {
+        if (workType == null) {
+            return DEFAULT_WEIGHT;
+        }
+        return WORK_TYPE_WEIGHTS.getOrDefault(workType, DEFAULT_WEIGHT);
+    }
+
+    /**
+     * Собирает статистику по списку оценок.
+     *
+     * @param grades список оценок
+     * @return заполненный накопитель
+     */
+    public static GradeStatistics of(Iterable<AcademicPerformance> grades) {
+        GradeStatistics statistics = new GradeStatistics();
+        if (grades != null) {
+            for (AcademicPerformance grade : grades) {
+                statistics.add(grade);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Учитывает запись об оценке.
+     *
+     * @param performance запись об оценке
+     */
+    public void add(AcademicPerformance performance) {
+        add(performance.getGrade(), performance.getWorkType(), performance.getAssessmentDate());
+    }
+
+    /**
+     * Учитывает оценку. Записи без оценки увеличивают только общее количество.
+     *
+     * @param grade оценка (может быть null)
+     * @param workType тип работы
+     * @param assessmentDate дата оценки (может быть null)
+     */
+    public void add(Integer grade, String workType, LocalDate assessmentDate) {
+        totalCount++;
+        if (grade == null) {
+            return;
+        }
+
+        int value = grade;
+        double weight = weightOf(workType);
+        weightedSum += value * weight;
+        totalWeight += weight;
+
+        if (value < minGrade) {
+            minGrade = value;
+        }
+        if (value > maxGrade) {
+            maxGrade = value;
+        }
+        if (assessmentDate != null && (lastGradeDate == null || assessmentDate.isAfter(lastGradeDate))) {
+            lastGradeDate = assessmentDate;
+            lastGrade = value;
+        }
+        if (value >= 1 && value <= MAX_GRADE_VALUE) {
+            histogram[value]++;
+        }
+
+        if (value >= 5) {
+            excellentCount++;
+        } else if (value == 4) {
+            goodCount++;
+        } else if (value == 3) {
+            satisfactoryCount++;
+        } else {
+            unsatisfactoryCount++;
+        }
+    }
+
+    /**
+     * Учитывает заранее агрегированные итоги, например строку предрассчитанной статистики.
+     * Распределение оценок и последняя оценка при этом не изменяются.
+     *
+     * @param count количество записей об оценках
+     * @param weightedSum сумма взвешенных оценок (может быть null)
+     * @param totalWeight сумма весов (может быть null)
+     * @param min минимальная оценка (может быть null)
+     * @param max максимальная оценка (может быть null)
+     */
+    public void addTotals(long count, Double weightedSum, Double totalWeight, Integer min, Integer max) {
+        totalCount += count;
+        if (weightedSum != null && totalWeight != null) {
+            this.weightedSum += weightedSum;
+            this.totalWeight += totalWeight;
+        }
+        if (min != null && min < minGrade) {
+            minGrade = min;
+        }
+        if (max != null && max > maxGrade) {
+            maxGrade = max;
+        }
+    }
+
+    /**
+     * Возвращает общее количество учтенных записей, включая записи без оценки.
+     *
+     * @return количество записей
+     */
+    public int getTotalCount() {
+        return (int) totalCount;
+    }
+
+    /**
+     * Возвращает средневзвешенный балл с учетом весов типов работ.
+     *
+     * @return средневзвешенный балл, округленный до 2 знаков, или null если оценок нет
+     */
+    public Double getAverageGrade() {
+        if (totalWeight == 0) {
+            return null;
+        }
+        return Math.round(weightedSum / totalWeight * 100.0) / 100.0;
+    }
+
+    /**
+     * Возвращает максимальную оценку.
+     *
+     * @return максимальная оценка или 0 если оценок нет
+     */
+    public int getMaxGrade() {
+        return maxGrade != Integer.MIN_VALUE ? maxGrade : 0;
+    }
+
+    /**
+     * Возвращает минимальную оценку.
+     *
+     * @return минимальная оценка или 0 если оценок нет
+     */
+    public int getMinGrade() {
+        return minGrade != Integer.MAX_VALUE ? minGrade : 0;
+    }
+
+    /**
+     * Возвращает последнюю по дате оценку.
+     *
+     * @return последняя оценка или null если оценок с датой нет
+     */
+    public Integer getLastGrade() {
+        return lastGradeDate != null ? lastGrade : null;
+    }
+
+    /**
+     * Возвращает количество оценок с указанным значением.
+     *
+     * @param value значение оценки от 1 до 5
+     * @return количество оценок или 0 для значений вне диапазона
+     */
+    public long getGradeCount(int value) {
+        return value >= 1 && value <= MAX_GRADE_VALUE ? histogram[value] : 0;
+    }
+
+    /**
+     * Возвращает количество отличных оценок (5).
+     *
+     * @return количество отличных оценок
+     */
+    public long getExcellentCount() {
+        return excellentCount;
+    }
+
+    /**
+     * Возвращает количество хороших оценок (4).
+     *
+     * @return количество хороших оценок
+     */
+    public long getGoodCount() {
+        return goodCount;
+    }
+
+    /**
+     * Возвращает количество удовлетворительных оценок (3).
+     *
+     * @return количество удовлетворительных оценок
+     */
+    public long getSatisfactoryCount() {
+        return satisfactoryCount;
+    }
+
+    /**
+     * Возвращает количество неудовлетворительных оценок (2 и ниже).
+     *
+     * @return количество неудовлетворительных оценок
+     */
+    public long getUnsatisfactoryCount() {
+        return unsatisfactoryCount;
+    }
+}
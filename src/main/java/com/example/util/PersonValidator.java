@@ -1,6 +1,6 @@
 package com.example.util;
 
-import com.example.model.Student;
+import com.example.security.StudentCredentials;
 import org.springframework.stereotype.Component;
 
 /**
@@ -11,14 +11,14 @@ import org.springframework.stereotype.Component;
 public class PersonValidator {
 
     /**
-     * Проверяет валидность объекта студента.
+     * Проверяет валидность данных студента.
      * Выполняет проверку на null и наличие обязательных полей.
      * Обязательные поля: полное имя, номер студенческого билета и хеш пароля.
      *
-     * @param student объект студента для проверки
+     * @param student данные студента для проверки
      * @return true если студент валиден, false если объект null или обязательные поля пустые
      */
-    public boolean validateStudent(Student student) {
+    public boolean validateStudent(StudentCredentials student) {
         if (student == null) {
             return false;
         }
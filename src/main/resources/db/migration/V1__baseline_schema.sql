@@ -0,0 +1,116 @@
+-- Исходная схема, ранее создававшаяся Hibernate (ddl-auto: update).
+-- Все операции идемпотентны: на существующей базе миграция ничего не меняет,
+-- а имена внешних ключей совпадают с именами, которые генерировал Hibernate.
+
+CREATE TABLE IF NOT EXISTS roles (
+    role_id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    role_name VARCHAR(255),
+    PRIMARY KEY (role_id)
+);
+
+CREATE TABLE IF NOT EXISTS groups (
+    group_id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    group_name      VARCHAR(255),
+    speciality_code VARCHAR(255),
+    PRIMARY KEY (group_id)
+);
+
+CREATE TABLE IF NOT EXISTS students (
+    student_id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    full_name             VARCHAR(255),
+    student_ticket_number VARCHAR(255),
+    password_hash         VARCHAR(255),
+    group_id              BIGINT,
+    role_id               BIGINT,
+    PRIMARY KEY (student_id)
+);
+
+CREATE TABLE IF NOT EXISTS teachers (
+    teacher_id    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    full_name     VARCHAR(255),
+    password_hash VARCHAR(255),
+    role_id       BIGINT,
+    PRIMARY KEY (teacher_id)
+);
+
+CREATE TABLE IF NOT EXISTS subjects (
+    subject_id      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    subject_name    VARCHAR(255),
+    max_study_load  INTEGER,
+    assessment_form VARCHAR(255),
+    semester        INTEGER,
+    PRIMARY KEY (subject_id)
+);
+
+CREATE TABLE IF NOT EXISTS teacher_subject (
+    subject_id BIGINT NOT NULL,
+    teacher_id BIGINT NOT NULL,
+    PRIMARY KEY (subject_id, teacher_id)
+);
+
+CREATE TABLE IF NOT EXISTS academic_performance (
+    performance_id  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    student_id      BIGINT,
+    subject_id      BIGINT,
+    grade           INTEGER,
+    work_type       VARCHAR(255),
+    assessment_date DATE,
+    comment         VARCHAR(255),
+    PRIMARY KEY (performance_id)
+);
+
+CREATE TABLE IF NOT EXISTS attendance (
+    attendance_id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    student_id      BIGINT,
+    subject_id      BIGINT,
+    attendance_date DATE,
+    is_present      BOOLEAN,
+    comment         VARCHAR(255),
+    PRIMARY KEY (attendance_id)
+);
+
+CREATE TABLE IF NOT EXISTS student_subject_statistics (
+    student_id      BIGINT           NOT NULL,
+    subject_id      BIGINT           NOT NULL,
+    grade_count     BIGINT           NOT NULL,
+    weighted_sum    DOUBLE PRECISION NOT NULL,
+    total_weight    DOUBLE PRECISION NOT NULL,
+    min_grade       INTEGER,
+    max_grade       INTEGER,
+    last_grade      INTEGER,
+    last_grade_date DATE,
+    grade_1_count   BIGINT           NOT NULL,
+    grade_2_count   BIGINT           NOT NULL,
+    grade_3_count   BIGINT           NOT NULL,
+    grade_4_count   BIGINT           NOT NULL,
+    grade_5_count   BIGINT           NOT NULL,
+    present_count   BIGINT           NOT NULL,
+    absent_count    BIGINT           NOT NULL,
+    late_count      BIGINT           NOT NULL,
+    PRIMARY KEY (student_id, subject_id)
+);
+
+DO $$
+DECLARE
+    fk TEXT[];
+BEGIN
+    FOREACH fk SLICE 1 IN ARRAY ARRAY[
+        ['academic_performance',       'fkrsdso7h7linwnsineejfd088l', 'student_id', 'students'],
+        ['academic_performance',       'fk8gxn9uwy69evr494jth7y2h22', 'subject_id', 'subjects'],
+        ['attendance',                 'fk7121lveuhtmu9wa6m90ayd5yg', 'student_id', 'students'],
+        ['attendance',                 'fkcjg1qkkmmy4dtktcdug457x4p', 'subject_id', 'subjects'],
+        ['student_subject_statistics', 'fk7jjsaah6se66csow8gui26upw', 'subject_id', 'subjects'],
+        ['students',                   'fkmsev1nou0j86spuk5jrv19mss', 'group_id',   'groups'],
+        ['students',                   'fks33errciqfkiwe8slr6y4jwm7', 'role_id',    'roles'],
+        ['teacher_subject',            'fklbm776mn6b4lu6hsdf29unq6x', 'subject_id', 'subjects'],
+        ['teacher_subject',            'fka1d1n8m8pv7rr2493x6jp3f3q', 'teacher_id', 'teachers'],
+        ['teachers',                   'fklahunmhlmob1ldxndx6j2l6qn', 'role_id',    'roles']
+    ]
+    LOOP
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = fk[2]) THEN
+            EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I FOREIGN KEY (%I) REFERENCES %I',
+                           fk[1], fk[2], fk[3], fk[4]);
+        END IF;
+    END LOOP;
+END
+$$;
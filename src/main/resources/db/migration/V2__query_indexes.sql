@@ -0,0 +1,37 @@
+-- Индексы под запросы репозиториев. Имена индексов проверяются при запуске (SchemaIndexVerifier).
+
+-- Оценки студента: findByStudentId, findByStudentIdAndSubjectSubjectId, пересчет статистики пары
+CREATE INDEX IF NOT EXISTS idx_academic_performance_student_subject
+    ON academic_performance (student_id, subject_id, assessment_date);
+
+-- Оценки по предмету и внешний ключ на subjects
+CREATE INDEX IF NOT EXISTS idx_academic_performance_subject
+    ON academic_performance (subject_id);
+
+-- История посещаемости по ключу (findFirstPage, findPageAfter, findUndatedPageAfter)
+-- и подсчет посещаемости пары студент-предмет
+CREATE INDEX IF NOT EXISTS idx_attendance_student_subject_date
+    ON attendance (student_id, subject_id, attendance_date DESC NULLS LAST, attendance_id DESC);
+
+-- Посещаемость по предмету и внешний ключ на subjects
+CREATE INDEX IF NOT EXISTS idx_attendance_subject
+    ON attendance (subject_id);
+
+-- Список группы на странице входа: findByGroupId, findRosterByGroupId (покрывающий индекс)
+CREATE INDEX IF NOT EXISTS idx_students_group
+    ON students (group_id) INCLUDE (full_name, student_ticket_number);
+
+-- Вход по номеру студенческого билета: findByStudentTicketNumber,
+-- findCredentialsByStudentTicketNumber (покрывающий индекс)
+CREATE INDEX IF NOT EXISTS idx_students_ticket_number
+    ON students (student_ticket_number) INCLUDE (student_id, full_name, password_hash, group_id);
+
+-- Предметы преподавателя и внешний ключ на teachers
+-- (поиск по предмету обслуживает первичный ключ (subject_id, teacher_id))
+CREATE INDEX IF NOT EXISTS idx_teacher_subject_teacher
+    ON teacher_subject (teacher_id);
+
+-- Статистика по предмету и внешний ключ на subjects
+-- (поиск по студенту обслуживает первичный ключ (student_id, subject_id))
+CREATE INDEX IF NOT EXISTS idx_student_subject_statistics_subject
+    ON student_subject_statistics (subject_id);
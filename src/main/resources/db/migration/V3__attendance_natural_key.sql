@@ -0,0 +1,41 @@
+-- Естественный ключ отметки посещаемости: одна отметка студента по предмету за день.
+-- По нему прием отметок из журналов (AttendanceIngestService) выполняет INSERT ... ON CONFLICT.
+
+-- Повторные отметки за один день: остается последняя добавленная, остальные переносятся
+-- в attendance_duplicates_archive (с временем переноса), их число выводится в журнал миграции
+CREATE TABLE IF NOT EXISTS attendance_duplicates_archive (LIKE attendance);
+ALTER TABLE attendance_duplicates_archive ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP NOT NULL DEFAULT now();
+
+DO $$
+DECLARE
+    archived BIGINT;
+BEGIN
+    WITH duplicates AS (
+        DELETE FROM attendance a
+        USING attendance newer
+        WHERE newer.student_id = a.student_id
+          AND newer.subject_id = a.subject_id
+          AND newer.attendance_date = a.attendance_date
+          AND newer.attendance_id > a.attendance_id
+        RETURNING a.*
+    )
+    INSERT INTO attendance_duplicates_archive
+    SELECT * FROM duplicates;
+
+    GET DIAGNOSTICS archived = ROW_COUNT;
+    IF archived > 0 THEN
+        RAISE WARNING 'Повторные отметки посещаемости за один день перенесены в attendance_duplicates_archive: %',
+            archived;
+    END IF;
+END
+$$;
+
+-- Ограничение могло быть создано Hibernate (ddl-auto=update) до перехода на Flyway
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_attendance_student_subject_date') THEN
+        ALTER TABLE attendance
+            ADD CONSTRAINT uk_attendance_student_subject_date UNIQUE (student_id, subject_id, attendance_date);
+    END IF;
+END
+$$;
@@ -0,0 +1,9 @@
+-- Общая версия данных для процессов приложения: импорт оценок из командной строки
+-- (GradeImportRunner) увеличивает ее после полного пересчета статистики, а веб-сервер
+-- периодически читает ее (StudentDataVersionService) и сбрасывает ETag и кэш страниц.
+CREATE TABLE IF NOT EXISTS data_version (
+    id      SMALLINT PRIMARY KEY CHECK (id = 1),
+    version BIGINT   NOT NULL
+);
+
+INSERT INTO data_version (id, version) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
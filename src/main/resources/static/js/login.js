@@ -19,17 +19,13 @@ document.addEventListener('DOMContentLoaded', function () {
         passwordIcon.style.display = 'block';
     }
 
+    var rosterRequest = 0;
+
     function updateStudentList(students) {
         userSelect.innerHTML = '<option value="" disabled selected>Выберите студента</option>';
 
         if (students && students.length > 0) {
-            const sortedStudents = students.sort(function(a, b) {
-                const nameA = (a.fullName || '').toLowerCase();
-                const nameB = (b.fullName || '').toLowerCase();
-                return nameA.localeCompare(nameB, 'ru');
-            });
-
-            sortedStudents.forEach(function(student) {
+            students.forEach(function(student) {
                 var option = document.createElement('option');
                 var fullName = student.fullName || '';
                 var ticketNumber = student.studentTicketNumber || '';
@@ -42,28 +38,45 @@ document.addEventListener('DOMContentLoaded', function () {
         }
     }
 
+    function loadStudentList(groupId) {
+        var requestId = ++rosterRequest;
+        userSelect.innerHTML = '<option value="" disabled selected>Загрузка...</option>';
+
+        fetch('/api/groups/' + encodeURIComponent(groupId) + '/students', {
+            headers: { 'Accept': 'application/json' }
+        })
+            .then(function (response) {
+                if (!response.ok) {
+                    throw new Error('HTTP ' + response.status);
+                }
+                return response.json();
+            })
+            .then(function (students) {
+                if (requestId === rosterRequest) {
+                    updateStudentList(students);
+                }
+            })
+            .catch(function () {
+                if (requestId === rosterRequest) {
+                    userSelect.innerHTML = '<option value="">Не удалось загрузить студентов</option>';
+                }
+            });
+    }
+
     if (groupSelect) {
         groupSelect.addEventListener('change', function () {
             var selectedGroupId = this.value;
 
             if (selectedGroupId) {
-                var groupId = parseInt(selectedGroupId);
-
-                if (studentsMap && studentsMap[groupId]) {
-                    updateStudentList(studentsMap[groupId]);
-                } else {
-                    userSelect.innerHTML = '<option value="">Студенты не найдены</option>';
-                }
+                loadStudentList(selectedGroupId);
             } else {
+                rosterRequest++;
                 userSelect.innerHTML = '<option value="">Сначала выберите группу</option>';
             }
         });
 
         if (groupSelect.value) {
-            var groupId = parseInt(groupSelect.value);
-            if (studentsMap && studentsMap[groupId]) {
-                updateStudentList(studentsMap[groupId]);
-            }
+            loadStudentList(groupSelect.value);
         }
     }
-});
\ No newline at end of file
+});
@@ -0,0 +1,191 @@
+package com.example.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Нагрузочный тест приема посещаемости (POST /api/ingest/attendance) на запущенном приложении.
+ * Каждый клиент отправляет отметки группы студентов по предмету за очередной день, как электронный
+ * журнал после занятия, а каждый десятый пакет повторяет предыдущий (повторная отправка).
+ * Выводит число записанных отметок в секунду и перцентили времени ответа.
+ * <pre>
+ * mvn -Pload-test test-compile exec:exec -Dload.main=com.example.benchmark.AttendanceIngestLoadRunner \
+ *     -Dload.args="http://localhost:8080 ключ 8 PT60S"
+ * </pre>
+ * Аргументы: адрес приложения, ключ app.ingest.api-key, число клиентов, длительность (ISO-8601)
+ * и, необязательно, число отметок в пакете (500), число студентов (ID от 1, 1000)
+ * и число предметов (ID от 1, 40).
+ */
+public final class AttendanceIngestLoadRunner {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 9, 1);
+
+    private AttendanceIngestLoadRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Использование: AttendanceIngestLoadRunner <baseUrl> <apiKey> <clients> <duration>"
+                    + " [marksPerRequest] [students] [subjects]");
+            System.exit(1);
+        }
+
+        URI uri = URI.create(args[0] + "/api/ingest/attendance");
+        String apiKey = args[1];
+        int clients = Integer.parseInt(args[2]);
+        Duration duration = Duration.parse(args[3]);
+        int marksPerRequest = args.length > 4 ? Integer.parseInt(args[4]) : 500;
+        int students = args.length > 5 ? Integer.parseInt(args[5]) : 1000;
+        int subjects = args.length > 6 ? Integer.parseInt(args[6]) : 40;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                Workload workload = new Workload(i, clients, marksPerRequest, students, subjects);
+                futures.add(executor.submit(() -> runClient(client, uri, apiKey, workload, deadline)));
+            }
+        }
+
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        print(total, clients, marksPerRequest, duration);
+    }
+
+    private static Result runClient(HttpClient client, URI uri, String apiKey, Workload workload, long deadline) {
+        Result result = new Result();
+        String body = null;
+        for (int request = 0; System.nanoTime() < deadline; request++) {
+            if (request % 10 != 9 || body == null) {
+                body = workload.next();
+            }
+            HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .header("X-API-Key", apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                result.record(System.nanoTime() - start, response.statusCode() == 200);
+                if (response.statusCode() == 200) {
+                    result.marks += workload.marksPerRequest;
+                }
+            } catch (Exception e) {
+                result.record(System.nanoTime() - start, false);
+            }
+        }
+        return result;
+    }
+
+    private static void print(Result result, int clients, int marksPerRequest, Duration duration) {
+        long[] latencies = Arrays.copyOf(result.latencies, result.count);
+        Arrays.sort(latencies);
+        double seconds = duration.toMillis() / 1000.0;
+
+        System.out.printf("Клиентов: %d, отметок в пакете: %d, длительность: %s%n", clients, marksPerRequest, duration);
+        System.out.printf("Пакетов: %d, ошибок: %d, принято отметок: %d, %.0f отметок/с%n",
+                result.count, result.errors, result.marks, result.marks / seconds);
+        System.out.printf("Время ответа, мс: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), percentile(latencies, 1.0));
+    }
+
+    private static double percentile(long[] sortedLatencies, double quantile) {
+        if (sortedLatencies.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * Пакеты одного клиента: клиент перебирает свои предметы, для каждого отмечает группу
+     * из marksPerRequest студентов подряд, затем переходит к следующему дню.
+     */
+    private static final class Workload {
+
+        private final int client;
+        private final int clients;
+        private final int marksPerRequest;
+        private final int students;
+        private final int subjects;
+        private long sequence;
+
+        private Workload(int client, int clients, int marksPerRequest, int students, int subjects) {
+            this.client = client;
+            this.clients = clients;
+            this.marksPerRequest = marksPerRequest;
+            this.students = students;
+            this.subjects = subjects;
+        }
+
+        private String next() {
+            long slot = sequence++ * clients + client;
+            long subjectId = 1 + slot % subjects;
+            LocalDate date = FIRST_DAY.plusDays(slot / subjects);
+            int firstStudent = (int) (slot * marksPerRequest % students);
+
+            StringBuilder body = new StringBuilder(marksPerRequest * 96).append('[');
+            for (int i = 0; i < marksPerRequest; i++) {
+                long studentId = 1 + (firstStudent + i) % students;
+                String status = switch ((int) ((studentId + slot) % 10)) {
+                    case 0 -> "ABSENT";
+                    case 1 -> "LATE";
+                    default -> "PRESENT";
+                };
+                if (i > 0) {
+                    body.append(',');
+                }
+                body.append("{\"studentId\":").append(studentId)
+                        .append(",\"subjectId\":").append(subjectId)
+                        .append(",\"date\":\"").append(date)
+                        .append("\",\"status\":\"").append(status).append("\"}");
+            }
+            return body.append(']').toString();
+        }
+    }
+
+    /**
+     * Результаты одного клиента: времена ответа в наносекундах, число ошибок и принятых отметок.
+     */
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private long marks;
+
+        void record(long latency, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+            marks += other.marks;
+        }
+    }
+}
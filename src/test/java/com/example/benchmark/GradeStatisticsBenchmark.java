@@ -0,0 +1,168 @@
+package com.example.benchmark;
+
+import com.example.model.AcademicPerformance;
+import com.example.util.GradeStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение однопроходного GradeStatistics с прежним многопроходным расчетом
+ * статистики по оценкам (отдельные циклы для среднего, минимума, максимума,
+ * последней оценки, распределения и категорий).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GradeStatisticsBenchmark {
+
+    private static final String[] WORK_TYPES = {"Экзамен", "Контрольная работа", "Урок", "Домашнее задание"};
+
+    private static final Map<String, Double> WORK_TYPE_WEIGHTS = new HashMap<>();
+
+    static {
+        WORK_TYPE_WEIGHTS.put("Экзамен", 3.0);
+        WORK_TYPE_WEIGHTS.put("Контрольная работа", 2.0);
+        WORK_TYPE_WEIGHTS.put("Урок", 1.0);
+        WORK_TYPE_WEIGHTS.put("Домашнее задание", 1.0);
+    }
+
+    @Param({"10", "100", "1000", "10000"})
+    private int gradeCount;
+
+    private List<AcademicPerformance> grades;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2024, 9, 1);
+        grades = new ArrayList<>(gradeCount);
+
+        for (int i = 0; i < gradeCount; i++) {
+            AcademicPerformance performance = new AcademicPerformance();
+            performance.setGrade(2 + random.nextInt(4));
+            performance.setWorkType(WORK_TYPES[random.nextInt(WORK_TYPES.length)]);
+            performance.setAssessmentDate(start.plusDays(random.nextInt(365)));
+            grades.add(performance);
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        GradeStatistics statistics = GradeStatistics.of(grades);
+        blackhole.consume(statistics.getAverageGrade());
+        blackhole.consume(statistics.getMaxGrade());
+        blackhole.consume(statistics.getMinGrade());
+        blackhole.consume(statistics.getLastGrade());
+        blackhole.consume(statistics.getGradeCount(5));
+        blackhole.consume(statistics.getExcellentCount());
+    }
+
+    @Benchmark
+    public void multiPass(Blackhole blackhole) {
+        blackhole.consume(calculateAverageGrade(grades));
+        blackhole.consume(calculateMaxGrade(grades));
+        blackhole.consume(calculateMinGrade(grades));
+        blackhole.consume(getLastGrade(grades));
+        blackhole.consume(countGradesByValue(grades));
+        blackhole.consume(countCategories(grades));
+    }
+
+    private static Double calculateAverageGrade(List<AcademicPerformance> grades) {
+        double weightedSum = 0.0;
+        double totalWeight = 0.0;
+
+        for (AcademicPerformance grade : grades) {
+            if (grade.getGrade() != null) {
+                Double weight = WORK_TYPE_WEIGHTS.get(grade.getWorkType());
+                if (weight == null) {
+                    weight = 1.0;
+                }
+                weightedSum += grade.getGrade() * weight;
+                totalWeight += weight;
+            }
+        }
+
+        if (totalWeight == 0) {
+            return null;
+        }
+        return Math.round(weightedSum / totalWeight * 100.0) / 100.0;
+    }
+
+    private static Integer calculateMaxGrade(List<AcademicPerformance> grades) {
+        Integer maxGrade = null;
+        for (AcademicPerformance grade : grades) {
+            if (grade.getGrade() != null && (maxGrade == null || grade.getGrade() > maxGrade)) {
+                maxGrade = grade.getGrade();
+            }
+        }
+        return maxGrade != null ? maxGrade : 0;
+    }
+
+    private static Integer calculateMinGrade(List<AcademicPerformance> grades) {
+        Integer minGrade = null;
+        for (AcademicPerformance grade : grades) {
+            if (grade.getGrade() != null && (minGrade == null || grade.getGrade() < minGrade)) {
+                minGrade = grade.getGrade();
+            }
+        }
+        return minGrade != null ? minGrade : 0;
+    }
+
+    private static Integer getLastGrade(List<AcademicPerformance> grades) {
+        AcademicPerformance lastGrade = null;
+        for (AcademicPerformance grade : grades) {
+            if (grade.getGrade() != null && grade.getAssessmentDate() != null
+                    && (lastGrade == null || grade.getAssessmentDate().isAfter(lastGrade.getAssessmentDate()))) {
+                lastGrade = grade;
+            }
+        }
+        return lastGrade != null ? lastGrade.getGrade() : null;
+    }
+
+    private static Map<Integer, Integer> countGradesByValue(List<AcademicPerformance> grades) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int i = 1; i <= 5; i++) {
+            counts.put(i, 0);
+        }
+        for (AcademicPerformance grade : grades) {
+            if (grade.getGrade() != null && grade.getGrade() >= 2 && grade.getGrade() <= 5) {
+                counts.put(grade.getGrade(), counts.get(grade.getGrade()) + 1);
+            }
+        }
+        return counts;
+    }
+
+    private static long[] countCategories(List<AcademicPerformance> grades) {
+        long[] categories = new long[4];
+        for (AcademicPerformance grade : grades) {
+            if (grade.getGrade() != null) {
+                Double gradeValue = Double.valueOf(grade.getGrade());
+                if (gradeValue >= 4.5) {
+                    categories[0]++;
+                } else if (gradeValue >= 3.5) {
+                    categories[1]++;
+                } else if (gradeValue >= 2.5) {
+                    categories[2]++;
+                } else {
+                    categories[3]++;
+                }
+            }
+        }
+        return categories;
+    }
+}
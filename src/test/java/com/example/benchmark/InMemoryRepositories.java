@@ -0,0 +1,75 @@
+package com.example.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Заглушки Spring Data репозиториев для бенчмарков.
+ * Создает динамический прокси интерфейса репозитория, в котором реализованы только
+ * явно перечисленные методы; вызов любого другого метода завершается исключением,
+ * чтобы бенчмарк не измерял незаметно пустую реализацию.
+ *
+ * @param <T> тип интерфейса репозитория
+ */
+final class InMemoryRepositories<T> {
+
+    private final Class<T> repositoryType;
+    private final Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+
+    private InMemoryRepositories(Class<T> repositoryType) {
+        this.repositoryType = repositoryType;
+    }
+
+    /**
+     * Начинает описание заглушки для указанного интерфейса репозитория.
+     *
+     * @param repositoryType интерфейс репозитория
+     * @param <T> тип интерфейса репозитория
+     * @return построитель заглушки
+     */
+    static <T> InMemoryRepositories<T> of(Class<T> repositoryType) {
+        return new InMemoryRepositories<>(repositoryType);
+    }
+
+    /**
+     * Регистрирует реализацию метода репозитория по его имени.
+     *
+     * @param methodName имя метода
+     * @param handler реализация, получающая аргументы вызова
+     * @return этот же построитель
+     */
+    InMemoryRepositories<T> on(String methodName, Function<Object[], Object> handler) {
+        handlers.put(methodName, handler);
+        return this;
+    }
+
+    /**
+     * Создает прокси репозитория.
+     *
+     * @return реализация интерфейса репозитория
+     */
+    T build() {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> repositoryType.getSimpleName() + "(in-memory)";
+                };
+            }
+
+            Function<Object[], Object> handler = handlers.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(
+                        repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            return handler.apply(args);
+        };
+
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, invocationHandler));
+    }
+}
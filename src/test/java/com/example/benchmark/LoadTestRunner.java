@@ -0,0 +1,171 @@
+package com.example.benchmark;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Нагрузочный тест страниц студента на запущенном приложении.
+ * Входит под учетной записью студента и в течение заданного времени запрашивает страницы
+ * из заданного числа параллельных клиентов, затем выводит пропускную способность
+ * и перцентили времени ответа.
+ *
+ * <p>Для сравнения режимов приложение запускается дважды: с
+ * {@code --spring.threads.virtual.enabled=false} (поток Tomcat на запрос) и с
+ * {@code --spring.threads.virtual.enabled=true}, после чего тест прогоняется с одинаковыми параметрами:
+ * <pre>
+ * mvn -Pload-test test-compile exec:exec -Dload.args="http://localhost:8080 ИСС-1001 password 200 PT30S"
+ * </pre>
+ * Аргументы: адрес приложения, номер студенческого билета, пароль, число клиентов,
+ * длительность (ISO-8601) и, необязательно, список страниц через запятую.
+ */
+public final class LoadTestRunner {
+
+    private static final String DEFAULT_PATHS =
+            "/student/dashboard,/student/grades,/student/attendance,/student/summary";
+
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("Использование: LoadTestRunner <baseUrl> <studentTicketNumber> <password>"
+                    + " <clients> <duration> [paths]");
+            System.exit(1);
+        }
+
+        String baseUrl = args[0];
+        int clients = Integer.parseInt(args[3]);
+        Duration duration = Duration.parse(args[4]);
+        List<String> paths = Arrays.asList((args.length > 5 ? args[5] : DEFAULT_PATHS).split(","));
+
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        login(client, baseUrl, args[1], args[2]);
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int offset = i;
+                futures.add(executor.submit(() -> runClient(client, baseUrl, paths, offset, deadline)));
+            }
+        }
+
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        print(total, clients, duration);
+    }
+
+    private static void login(HttpClient client, String baseUrl, String ticket, String password) throws Exception {
+        HttpResponse<String> loginPage = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher csrf = CSRF_TOKEN.matcher(loginPage.body());
+
+        String form = "username=" + encode(ticket) + "&password=" + encode(password)
+                + (csrf.find() ? "&_csrf=" + encode(csrf.group(1)) : "");
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        String location = response.headers().firstValue("Location").orElse("");
+        if (!location.contains("/student/dashboard")) {
+            throw new IllegalStateException("Не удалось войти: " + response.statusCode() + " " + location);
+        }
+    }
+
+    private static Result runClient(HttpClient client, String baseUrl, List<String> paths, int offset,
+                                    long deadline) {
+        Result result = new Result();
+        int index = offset;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(index++ % paths.size())))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                result.record(System.nanoTime() - start, response.statusCode() == 200);
+            } catch (Exception e) {
+                result.record(System.nanoTime() - start, false);
+            }
+        }
+        return result;
+    }
+
+    private static void print(Result result, int clients, Duration duration) {
+        long[] latencies = Arrays.copyOf(result.latencies, result.count);
+        Arrays.sort(latencies);
+
+        System.out.printf("Клиентов: %d, длительность: %s%n", clients, duration);
+        System.out.printf("Запросов: %d, ошибок: %d, пропускная способность: %.1f запр/с%n",
+                result.count, result.errors, result.count / (duration.toMillis() / 1000.0));
+        System.out.printf("Время ответа, мс: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), percentile(latencies, 1.0));
+    }
+
+    private static double percentile(long[] sortedLatencies, double quantile) {
+        if (sortedLatencies.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Результаты одного клиента: времена ответа в наносекундах и число ошибок.
+     */
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long latency, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.benchmark;
+
+import com.example.dto.AttendanceCard;
+import com.example.dto.AttendanceDetails;
+import com.example.dto.SemesterSummary;
+import com.example.dto.SemesterTrend;
+import com.example.dto.StudentAcademicSnapshot;
+import com.example.dto.SubjectGradeCard;
+import com.example.dto.SubjectGradeDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки сервисного слоя страниц студента на репозиториях в памяти.
+ * Измеряют пропускную способность; скорость выделения памяти выводится
+ * профилировщиком gc, который включен в профиле Maven benchmark.
+ * Размер истории студента задается параметром historySize (10..10000 записей).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceLayerBenchmark {
+
+    private static final int SEMESTER = 1;
+
+    @Benchmark
+    public Map<Long, SubjectGradeCard> gradesDashboard(StudentHistoryState state) {
+        return state.gradeService.getGradesDashboard(StudentHistoryState.STUDENT_ID, SEMESTER);
+    }
+
+    @Benchmark
+    public SubjectGradeDetails gradeDetails(StudentHistoryState state) {
+        return state.gradeService.getSubjectDetails(StudentHistoryState.DETAIL_SUBJECT_ID,
+                StudentHistoryState.STUDENT_ID, SEMESTER);
+    }
+
+    @Benchmark
+    public Map<Long, AttendanceCard> attendanceDashboard(StudentHistoryState state) {
+        return state.attendanceService.getAttendanceDashboard(StudentHistoryState.STUDENT_ID, SEMESTER);
+    }
+
+    @Benchmark
+    public AttendanceDetails attendanceDetails(StudentHistoryState state) {
+        return state.attendanceService.getAttendanceDetails(StudentHistoryState.DETAIL_SUBJECT_ID,
+                StudentHistoryState.STUDENT_ID, SEMESTER);
+    }
+
+    @Benchmark
+    public SemesterSummary summary(StudentHistoryState state) {
+        return state.summaryService.getSummaryData(StudentHistoryState.STUDENT_ID, SEMESTER);
+    }
+
+    @Benchmark
+    public SemesterTrend semesterTrend(StudentHistoryState state) {
+        return state.summaryService.getSemesterTrendData(StudentHistoryState.STUDENT_ID);
+    }
+
+    @Benchmark
+    public ExtendedModelMap summaryPage(StudentHistoryState state) {
+        ExtendedModelMap model = new ExtendedModelMap();
+        StudentAcademicSnapshot snapshot = state.statisticsService.getSnapshot(StudentHistoryState.STUDENT_ID);
+        model.addAttribute("summaryData", state.summaryService.getSummaryData(snapshot, SEMESTER));
+        model.addAttribute("trendData", state.summaryService.getSemesterTrendData(snapshot));
+        model.addAttribute("availableSemesters", state.studentService.getAvailableSemesters(snapshot));
+        return model;
+    }
+
+    @Benchmark
+    public ExtendedModelMap dashboardPage(StudentHistoryState state) {
+        ExtendedModelMap model = new ExtendedModelMap();
+        state.dashboardService.addStudentDataToModel(model, state.credentials, SEMESTER);
+        return model;
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.benchmark;
+
+import com.example.dto.SubjectTeacherName;
+import com.example.model.AcademicPerformance;
+import com.example.model.Attendance;
+import com.example.model.Group;
+import com.example.model.Role;
+import com.example.model.Student;
+import com.example.model.StudentSubjectStatistics;
+import com.example.model.StudentSubjectStatisticsId;
+import com.example.model.Subject;
+import com.example.model.Teacher;
+import com.example.model.TeacherSubject;
+import com.example.model.TeacherSubjectId;
+import com.example.repository.AcademicPerformanceRepository;
+import com.example.repository.AttendanceRepository;
+import com.example.repository.StudentRepository;
+import com.example.repository.StudentSubjectStatisticsRepository;
+import com.example.repository.SubjectRepository;
+import com.example.repository.TeacherSubjectRepository;
+import com.example.security.StudentCredentials;
+import com.example.service.AttendanceService;
+import com.example.service.DashboardService;
+import com.example.service.GradeService;
+import com.example.service.StatisticsService;
+import com.example.service.SubjectCatalog;
+import com.example.service.StudentService;
+import com.example.service.StudentDataVersionService;
+import com.example.service.SummaryService;
+import com.example.service.TeacherNameService;
+import com.example.util.GradeStatistics;
+import com.example.util.PersonValidator;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Состояние бенчмарков сервисного слоя: история одного студента заданного размера
+ * и сервисы, подключенные к репозиториям в памяти вместо PostgreSQL.
+ * Предрассчитанная статистика строится при подготовке состояния так же, как ее пересчитывает
+ * база данных, поэтому бенчмарк измеряет работу сервисов, а не базы данных.
+ */
+@State(Scope.Benchmark)
+public class StudentHistoryState {
+
+    static final long STUDENT_ID = 1L;
+    static final int SUBJECT_COUNT = 8;
+    static final long DETAIL_SUBJECT_ID = 1L;
+
+    private static final String[] WORK_TYPES = {"Экзамен", "Контрольная работа", "Урок", "Домашнее задание"};
+
+    /**
+     * Количество записей об оценках и о посещаемости у студента.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int historySize;
+
+    Student student;
+    StudentCredentials credentials;
+    StatisticsService statisticsService;
+    GradeService gradeService;
+    AttendanceService attendanceService;
+    SummaryService summaryService;
+    StudentService studentService;
+    DashboardService dashboardService;
+
+    private final Map<Long, Subject> subjects = new LinkedHashMap<>();
+    private final List<TeacherSubject> teacherSubjects = new ArrayList<>();
+    private final List<AcademicPerformance> grades = new ArrayList<>();
+    private final List<Attendance> attendances = new ArrayList<>();
+    private final List<StudentSubjectStatistics> statistics = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        createStudent();
+        createSubjects();
+        createGrades(random);
+        createAttendances(random);
+        createStatistics();
+        createServices();
+    }
+
+    private void createStudent() {
+        Group group = new Group();
+        group.setId(1L);
+        group.setName("ИСС9-124");
+        group.setSpecialityCode("11.02.15");
+
+        Role role = new Role();
+        role.setId(2L);
+        role.setName("Students");
+
+        student = new Student();
+        student.setId(STUDENT_ID);
+        student.setFullName("Баранова Анна Игоревна");
+        student.setStudentTicketNumber("ИСС-1001");
+        student.setPasswordHash("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmar");
+        student.setGroup(group);
+        student.setRole(role);
+        credentials = StudentCredentials.from(student);
+    }
+
+    private void createSubjects() {
+        for (long id = 1; id <= SUBJECT_COUNT; id++) {
+            Subject subject = new Subject();
+            subject.setSubjectId(id);
+            subject.setName("Предмет " + id);
+            subject.setMaxStudyLoad(72);
+            subject.setAssessmentForm(id % 2 == 0 ? "Экзамен" : "Зачет");
+            subject.setSemester(id <= SUBJECT_COUNT / 2 ? 1 : 2);
+            subjects.put(id, subject);
+
+            Teacher teacher = new Teacher();
+            teacher.setId(id);
+            teacher.setFullName("Преподаватель " + id);
+
+            TeacherSubject teacherSubject = new TeacherSubject();
+            teacherSubject.setId(new TeacherSubjectId(id, id));
+            teacherSubject.setTeacher(teacher);
+            teacherSubject.setSubject(subject);
+            teacherSubjects.add(teacherSubject);
+        }
+    }
+
+    private void createGrades(Random random) {
+        LocalDate start = LocalDate.of(2024, 9, 1);
+        for (long i = 0; i < historySize; i++) {
+            AcademicPerformance performance = new AcademicPerformance();
+            performance.setPerformanceId(i + 1);
+            performance.setStudent(student);
+            performance.setSubject(subjects.get(1 + i % SUBJECT_COUNT));
+            performance.setGrade(2 + random.nextInt(4));
+            performance.setWorkType(WORK_TYPES[random.nextInt(WORK_TYPES.length)]);
+            performance.setAssessmentDate(start.plusDays(random.nextInt(365)));
+            grades.add(performance);
+        }
+    }
+
+    private void createAttendances(Random random) {
+        LocalDate start = LocalDate.of(2024, 9, 1);
+        for (long i = 0; i < historySize; i++) {
+            Attendance attendance = new Attendance();
+            attendance.setAttendanceId(i + 1);
+            attendance.setStudent(student);
+            attendance.setSubject(subjects.get(1 + i % SUBJECT_COUNT));
+            attendance.setAttendanceDate(start.plusDays(random.nextInt(365)));
+            int mark = random.nextInt(10);
+            attendance.setIsPresent(mark < 8 ? Boolean.TRUE : mark == 8 ? Boolean.FALSE : null);
+            attendances.add(attendance);
+        }
+    }
+
+    private void createStatistics() {
+        for (Subject subject : subjects.values()) {
+            StudentSubjectStatistics row = new StudentSubjectStatistics();
+            row.setId(new StudentSubjectStatisticsId(STUDENT_ID, subject.getSubjectId()));
+            row.setSubject(subject);
+
+            GradeStatistics gradeStatistics = GradeStatistics.of(gradesOf(STUDENT_ID, subject.getSubjectId()));
+            row.setGradeCount(gradeStatistics.getTotalCount());
+            if (row.getGradeCount() > 0) {
+                row.setMinGrade(gradeStatistics.getMinGrade());
+                row.setMaxGrade(gradeStatistics.getMaxGrade());
+                row.setLastGrade(gradeStatistics.getLastGrade());
+            }
+            for (AcademicPerformance grade : gradesOf(STUDENT_ID, subject.getSubjectId())) {
+                double weight = GradeStatistics.weightOf(grade.getWorkType());
+                row.setWeightedSum(row.getWeightedSum() + grade.getGrade() * weight);
+                row.setTotalWeight(row.getTotalWeight() + weight);
+            }
+            row.setGrade2Count(gradeStatistics.getGradeCount(2));
+            row.setGrade3Count(gradeStatistics.getGradeCount(3));
+            row.setGrade4Count(gradeStatistics.getGradeCount(4));
+            row.setGrade5Count(gradeStatistics.getGradeCount(5));
+
+            for (Attendance attendance : attendancesOf(STUDENT_ID, subject.getSubjectId())) {
+                if (Boolean.TRUE.equals(attendance.getIsPresent())) {
+                    row.setPresentCount(row.getPresentCount() + 1);
+                } else if (Boolean.FALSE.equals(attendance.getIsPresent())) {
+                    row.setAbsentCount(row.getAbsentCount() + 1);
+                } else {
+                    row.setLateCount(row.getLateCount() + 1);
+                }
+            }
+
+            if (row.getGradeCount() > 0 || row.getAttendanceCount() > 0) {
+                statistics.add(row);
+            }
+        }
+    }
+
+    private void createServices() {
+        AcademicPerformanceRepository academicPerformanceRepository = InMemoryRepositories
+                .of(AcademicPerformanceRepository.class)
+                .on("findByStudentId", args -> gradesOf((Long) args[0]))
+                .on("findByStudentIdAndSubjectSubjectId", args -> gradesOf((Long) args[0], (Long) args[1]))
+                .build();
+
+        AttendanceRepository attendanceRepository = InMemoryRepositories
+                .of(AttendanceRepository.class)
+                .on("findFirstPage", args -> attendancePageOf((Long) args[0], (Long) args[1],
+                        null, null, (Limit) args[2]))
+                .on("findPageAfter", args -> attendancePageOf((Long) args[0], (Long) args[1],
+                        (LocalDate) args[2], (Long) args[3], (Limit) args[4]))
+                .build();
+
+        SubjectRepository subjectRepository = InMemoryRepositories
+                .of(SubjectRepository.class)
+                .on("findById", args -> Optional.ofNullable(subjects.get((Long) args[0])))
+                .on("findAll", args -> new ArrayList<>(subjects.values()))
+                .build();
+
+        TeacherSubjectRepository teacherSubjectRepository = InMemoryRepositories
+                .of(TeacherSubjectRepository.class)
+                .on("findTeacherNamesBySubjectIds", args -> teacherNamesOf((Collection<?>) args[0]))
+                .build();
+
+        StudentRepository studentRepository = InMemoryRepositories
+                .of(StudentRepository.class)
+                .on("findById", args -> Optional.of(student).filter(s -> s.getId().equals(args[0])))
+                .on("findByStudentTicketNumber",
+                        args -> Optional.of(student).filter(s -> s.getStudentTicketNumber().equals(args[0])))
+                .build();
+
+        StudentSubjectStatisticsRepository statisticsRepository = InMemoryRepositories
+                .of(StudentSubjectStatisticsRepository.class)
+                .on("findByStudentAndSemester", args -> statisticsOf((Long) args[0], (Integer) args[1]))
+                .on("findById", args -> statisticsOf(((StudentSubjectStatisticsId) args[0]).getStudentId(), null)
+                        .stream()
+                        .filter(row -> row.getId().equals(args[0]))
+                        .findFirst())
+                .build();
+
+        statisticsService = new StatisticsService(statisticsRepository, attendanceRepository,
+                new StudentDataVersionService(null), null, studentRepository, null);
+        SubjectCatalog subjectCatalog = new SubjectCatalog(subjectRepository);
+        TeacherNameService teacherNameService = new TeacherNameService(teacherSubjectRepository, subjectCatalog);
+        gradeService = new GradeService(academicPerformanceRepository, subjectCatalog, statisticsService,
+                teacherNameService);
+        attendanceService = new AttendanceService(attendanceRepository, subjectCatalog, statisticsService);
+        summaryService = new SummaryService(gradeService, attendanceService, statisticsService);
+        studentService = new StudentService(teacherNameService, studentRepository, new PersonValidator());
+        dashboardService = new DashboardService(gradeService, studentService, summaryService);
+    }
+
+    private List<AcademicPerformance> gradesOf(Long studentId) {
+        List<AcademicPerformance> result = new ArrayList<>();
+        for (AcademicPerformance grade : grades) {
+            if (grade.getStudent().getId().equals(studentId)) {
+                result.add(grade);
+            }
+        }
+        return result;
+    }
+
+    private List<AcademicPerformance> gradesOf(Long studentId, Long subjectId) {
+        List<AcademicPerformance> result = new ArrayList<>();
+        for (AcademicPerformance grade : gradesOf(studentId)) {
+            if (grade.getSubject().getSubjectId().equals(subjectId)) {
+                result.add(grade);
+            }
+        }
+        return result;
+    }
+
+    private List<StudentSubjectStatistics> statisticsOf(Long studentId, Integer semester) {
+        List<StudentSubjectStatistics> result = new ArrayList<>();
+        for (StudentSubjectStatistics row : statistics) {
+            if (row.getId().getStudentId().equals(studentId)
+                    && (semester == null || Objects.equals(semester, row.getSubject().getSemester()))) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private List<Attendance> attendancesOf(Long studentId) {
+        List<Attendance> result = new ArrayList<>();
+        for (Attendance attendance : attendances) {
+            if (attendance.getStudent().getId().equals(studentId)) {
+                result.add(attendance);
+            }
+        }
+        return result;
+    }
+
+    private List<Attendance> attendancesOf(Long studentId, Long subjectId) {
+        List<Attendance> result = new ArrayList<>();
+        for (Attendance attendance : attendancesOf(studentId)) {
+            if (attendance.getSubject().getSubjectId().equals(subjectId)) {
+                result.add(attendance);
+            }
+        }
+        result.sort(Comparator.comparing(Attendance::getAttendanceDate)
+                .thenComparing(Attendance::getAttendanceId)
+                .reversed());
+        return result;
+    }
+
+    private List<Attendance> attendancePageOf(Long studentId, Long subjectId, LocalDate afterDate, Long afterId,
+                                              Limit limit) {
+        List<Attendance> result = new ArrayList<>();
+        for (Attendance attendance : attendancesOf(studentId, subjectId)) {
+            int position = afterId == null ? 1 : attendance.getAttendanceDate().compareTo(afterDate) != 0
+                    ? afterDate.compareTo(attendance.getAttendanceDate())
+                    : Long.compare(afterId, attendance.getAttendanceId());
+            if (position > 0 && result.size() < limit.max()) {
+                result.add(attendance);
+            }
+        }
+        return result;
+    }
+
+    private List<SubjectTeacherName> teacherNamesOf(Collection<?> subjectIds) {
+        List<SubjectTeacherName> result = new ArrayList<>();
+        for (TeacherSubject teacherSubject : teacherSubjects) {
+            Long subjectId = teacherSubject.getSubject().getSubjectId();
+            if (subjectIds.contains(subjectId)) {
+                result.add(new SubjectTeacherName(subjectId, teacherSubject.getTeacher().getFullName()));
+            }
+        }
+        return result;
+    }
+}
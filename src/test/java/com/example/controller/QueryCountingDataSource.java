@@ -0,0 +1,84 @@
+package com.example.controller;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Источник данных, подсчитывающий выполненные SQL-запросы и прочитанные строки.
+ * Считаются запросы всех потоков, включая виртуальные потоки FanOutExecutor.
+ */
+class QueryCountingDataSource extends DelegatingDataSource {
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+
+    QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    void reset() {
+        statements.set(0);
+        rows.set(0);
+    }
+
+    long getStatements() {
+        return statements.get();
+    }
+
+    long getRows() {
+        return rows.get();
+    }
+
+    private <T> T proxy(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> intercept(target, method, args)));
+    }
+
+    private Object intercept(Object target, Method method, Object[] args) throws Throwable {
+        if (target instanceof Statement && method.getName().startsWith("execute")) {
+            statements.incrementAndGet();
+        }
+
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            rows.incrementAndGet();
+        }
+        return wrap(method.getReturnType(), result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object wrap(Class<?> returnType, Object result) {
+        if (result == null || !returnType.isInterface()) {
+            return result;
+        }
+        if (Statement.class.isAssignableFrom(returnType) || returnType == ResultSet.class) {
+            return proxy((Class<Object>) returnType, result);
+        }
+        return result;
+    }
+}
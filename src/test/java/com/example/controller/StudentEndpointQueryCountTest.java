@@ -0,0 +1,126 @@
+package com.example.controller;
+
+import com.example.security.PersonDetailsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import javax.sql.DataSource;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Регрессионный тест числа SQL-запросов и прочитанных строк для страниц студента.
+ * Приложение запускается на встроенной H2 (профиль query-count) с набором данных
+ * db/query-count-data.sql: 90 студентов, 24 предмета в 8 семестрах, по 8 оценок
+ * и 16 отметок посещаемости на каждую пару студент-предмет.
+ * Каждая страница сначала запрашивается один раз для прогрева кэшей, затем измеряется
+ * повторный запрос. Границы равны измеренным значениям: страница входа, вход и список группы
+ * после прогрева обслуживаются из кэшей без запросов. Превышение границ означает появление N+1
+ * или лишней выборки; при намеренном изменении запросов границы обновляются вместе с ним.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("query-count")
+public class StudentEndpointQueryCountTest extends AbstractTestNGSpringContextTests {
+
+    private static final String STUDENT_TICKET = "ИСС-1001";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCountingDataSource dataSource;
+
+    @Autowired
+    private PersonDetailsService personDetailsService;
+
+    private UserDetails student;
+
+    @BeforeMethod
+    public void setUp() {
+        student = personDetailsService.loadUserByUsername(STUDENT_TICKET);
+    }
+
+    @DataProvider
+    public Object[][] studentPages() {
+        return new Object[][]{
+                {"/student/dashboard", 1L, 3L},
+                {"/student/grades?semester=1", 1L, 24L},
+                {"/student/grades/1?semester=1", 2L, 32L},
+                {"/student/attendance?semester=1", 1L, 24L},
+                {"/student/attendance/1?semester=1", 3L, 41L},
+                {"/student/summary", 1L, 24L},
+                {"/student/transcript?format=csv", 2L, 576L},
+                {"/student/transcript?format=json", 2L, 576L},
+        };
+    }
+
+    @Test(dataProvider = "studentPages", description = "Страницы студента укладываются в границы запросов и строк")
+    public void studentPage(String url, long maxStatements, long maxRows) throws Exception {
+        assertQueryCount(get(url).with(user(student)), 200, maxStatements, maxRows);
+    }
+
+    @Test(description = "Страница входа не обращается к базе")
+    public void loginPage() throws Exception {
+        assertQueryCount(get("/login"), 200, 0, 0);
+    }
+
+    @Test(description = "Список группы после прогрева отдается из кэша")
+    public void groupRoster() throws Exception {
+        assertQueryCount(get("/api/groups/1/students"), 200, 0, 0);
+    }
+
+    @Test(description = "Вход студента после прогрева обслуживается из кэша")
+    public void loginForm() throws Exception {
+        assertQueryCount(formLogin("/login").user(STUDENT_TICKET).password("password"), 302, 0, 0);
+    }
+
+    private void assertQueryCount(RequestBuilder request, int expectedStatus, long maxStatements, long maxRows)
+            throws Exception {
+        mockMvc.perform(request).andExpect(status().is(expectedStatus));
+
+        dataSource.reset();
+        mockMvc.perform(request).andExpect(status().is(expectedStatus));
+
+        Assert.assertTrue(dataSource.getStatements() <= maxStatements,
+                "число SQL-запросов " + dataSource.getStatements() + " больше " + maxStatements);
+        Assert.assertTrue(dataSource.getRows() <= maxRows,
+                "число прочитанных строк " + dataSource.getRows() + " больше " + maxRows);
+    }
+
+    @TestConfiguration
+    static class QueryCountingConfig {
+
+        /**
+         * Оборачивает источник данных приложения счетчиком запросов.
+         */
+        @Bean
+        static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                        return new QueryCountingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
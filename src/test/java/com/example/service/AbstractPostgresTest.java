@@ -0,0 +1,38 @@
+package com.example.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.annotations.Listeners;
+
+import java.util.List;
+
+/**
+ * Основа тестов, которым нужен PostgreSQL (профиль postgres). Если переменная TEST_DATABASE_URL
+ * не задана, тесты этих классов не запускаются и контекст Spring для них не создается.
+ */
+@SpringBootTest
+@ActiveProfiles("postgres")
+@Listeners(AbstractPostgresTest.DatabaseRequired.class)
+public abstract class AbstractPostgresTest extends AbstractTestNGSpringContextTests {
+
+    /**
+     * Убирает из запуска тесты наследников AbstractPostgresTest, когда база не задана.
+     */
+    public static class DatabaseRequired implements IMethodInterceptor {
+
+        @Override
+        public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+            String url = System.getenv("TEST_DATABASE_URL");
+            if (url != null && !url.isBlank()) {
+                return methods;
+            }
+            return methods.stream()
+                    .filter(method -> !AbstractPostgresTest.class.isAssignableFrom(method.getMethod().getRealClass()))
+                    .toList();
+        }
+    }
+}
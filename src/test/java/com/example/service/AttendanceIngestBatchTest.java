@@ -0,0 +1,88 @@
+package com.example.service;
+
+import com.example.dto.AttendanceIngestResult;
+import com.example.dto.AttendanceMark;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Проверка и устранение повторов в пакете отметок посещаемости до обращения к базе.
+ * Запись в PostgreSQL проверяет AttendanceIngestServiceTest.
+ */
+public class AttendanceIngestBatchTest {
+
+    private static final LocalDate DAY = LocalDate.of(2020, 9, 1);
+
+    @Test(description = "Повтор ключа в пакете считается повтором, записывается последняя отметка")
+    public void repeatedKeyInBatchKeepsLastMark() {
+        AttendanceMark first = mark(1L, 1L, DAY, AttendanceMark.Status.ABSENT, "первая");
+        AttendanceMark second = mark(1L, 1L, DAY, AttendanceMark.Status.LATE, "вторая");
+        AttendanceMark nextDay = mark(1L, 1L, DAY.plusDays(1), AttendanceMark.Status.PRESENT, null);
+
+        AttendanceIngestService.PreparedBatch batch = AttendanceIngestService.prepare(List.of(first, second, nextDay));
+
+        Assert.assertEquals(batch.duplicates(), 1);
+        Assert.assertEquals(batch.rejected(), 0);
+        Assert.assertTrue(batch.errors().isEmpty());
+        Assert.assertEquals(new ArrayList<>(batch.marks().values()), List.of(second, nextDay));
+    }
+
+    @Test(description = "Отметки упорядочиваются по предмету, студенту и дате")
+    public void marksAreOrderedByKey() {
+        AttendanceMark last = mark(1L, 2L, DAY, AttendanceMark.Status.PRESENT, null);
+        AttendanceMark middle = mark(2L, 1L, DAY.plusDays(1), AttendanceMark.Status.PRESENT, null);
+        AttendanceMark first = mark(2L, 1L, DAY, AttendanceMark.Status.PRESENT, null);
+
+        AttendanceIngestService.PreparedBatch batch = AttendanceIngestService.prepare(List.of(last, middle, first));
+
+        Assert.assertEquals(new ArrayList<>(batch.marks().values()), List.of(first, middle, last));
+    }
+
+    @Test(description = "Пустые отметки, отметки без обязательных полей и с длинным комментарием отклоняются")
+    public void invalidMarksAreRejected() {
+        AttendanceMark valid = mark(1L, 1L, DAY, AttendanceMark.Status.PRESENT, "x".repeat(255));
+
+        AttendanceIngestService.PreparedBatch batch = AttendanceIngestService.prepare(Arrays.asList(
+                null,
+                mark(null, 1L, DAY, AttendanceMark.Status.PRESENT, null),
+                mark(1L, null, DAY, AttendanceMark.Status.PRESENT, null),
+                mark(1L, 1L, null, AttendanceMark.Status.PRESENT, null),
+                mark(1L, 1L, DAY, null, null),
+                mark(1L, 1L, DAY.plusDays(1), AttendanceMark.Status.PRESENT, "x".repeat(256)),
+                valid));
+
+        Assert.assertEquals(batch.rejected(), 6);
+        Assert.assertEquals(batch.duplicates(), 0);
+        Assert.assertEquals(batch.errors(), List.of(
+                "Отметка 1: пустая отметка",
+                "Отметка 2: обязательны studentId, subjectId, date и status",
+                "Отметка 3: обязательны studentId, subjectId, date и status",
+                "Отметка 4: обязательны studentId, subjectId, date и status",
+                "Отметка 5: обязательны studentId, subjectId, date и status",
+                "Отметка 6: comment длиннее 255 символов"));
+        Assert.assertEquals(new ArrayList<>(batch.marks().values()), List.of(valid));
+    }
+
+    @Test(description = "Пакет без корректных отметок не обращается к базе")
+    public void batchWithoutValidMarksIsNotWritten() {
+        AttendanceIngestService service = new AttendanceIngestService(null, null, null, null, 1000);
+
+        AttendanceIngestResult result = service.ingest(Arrays.asList(
+                null, mark(1L, 1L, null, AttendanceMark.Status.ABSENT, null)));
+
+        Assert.assertEquals(result.received(), 2);
+        Assert.assertEquals(result.accepted(), 0);
+        Assert.assertEquals(result.rejected(), 2);
+        Assert.assertEquals(result.errors().size(), 2);
+    }
+
+    private static AttendanceMark mark(Long studentId, Long subjectId, LocalDate date,
+                                       AttendanceMark.Status status, String comment) {
+        return new AttendanceMark(studentId, subjectId, date, status, comment);
+    }
+}
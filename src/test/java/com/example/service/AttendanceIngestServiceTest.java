@@ -0,0 +1,88 @@
+package com.example.service;
+
+import com.example.dto.AttendanceIngestResult;
+import com.example.dto.AttendanceMark;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Прием посещаемости на PostgreSQL (INSERT ... ON CONFLICT): повторная отправка пакета не создает
+ * дубликатов, а поздняя отметка заменяет сохраненную. Проверку и повторы внутри пакета
+ * проверяет AttendanceIngestBatchTest без базы.
+ */
+public class AttendanceIngestServiceTest extends AbstractPostgresTest {
+
+    private static final LocalDate DAY = LocalDate.of(2020, 9, 1);
+
+    @Autowired
+    private AttendanceIngestService attendanceIngestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long subjectId;
+    private Long studentId;
+
+    @BeforeMethod
+    public void createStudent() {
+        subjectId = jdbcTemplate.queryForObject(
+                "INSERT INTO subjects (subject_name, semester) VALUES ('Тест приема посещаемости', 1)"
+                        + " RETURNING subject_id", Long.class);
+        studentId = jdbcTemplate.queryForObject(
+                "INSERT INTO students (full_name) VALUES ('Студент приема') RETURNING student_id", Long.class);
+    }
+
+    @AfterMethod
+    public void deleteStudent() {
+        jdbcTemplate.update("DELETE FROM student_subject_statistics WHERE subject_id = ?", subjectId);
+        jdbcTemplate.update("DELETE FROM attendance WHERE subject_id = ?", subjectId);
+        jdbcTemplate.update("DELETE FROM subjects WHERE subject_id = ?", subjectId);
+        jdbcTemplate.update("DELETE FROM students WHERE student_id = ?", studentId);
+    }
+
+    @Test(description = "Повторно отправленный пакет не создает дубликатов, поздняя отметка заменяет прежнюю")
+    public void resentBatchDoesNotDuplicateAndLaterMarkReplaces() {
+        List<AttendanceMark> batch = List.of(
+                mark(DAY, AttendanceMark.Status.PRESENT, null),
+                mark(DAY.plusDays(1), AttendanceMark.Status.ABSENT, "болел"));
+        attendanceIngestService.ingest(batch);
+        AttendanceIngestResult resent = attendanceIngestService.ingest(batch);
+        attendanceIngestService.ingest(List.of(mark(DAY, AttendanceMark.Status.ABSENT, "исправлено")));
+
+        Assert.assertEquals(resent.accepted(), 2);
+        Assert.assertEquals(resent.rejected(), 0);
+        Assert.assertEquals(storedMarks(), List.of(
+                Arrays.asList(DAY.toString(), false, "исправлено"),
+                Arrays.asList(DAY.plusDays(1).toString(), false, "болел")));
+        Assert.assertEquals(jdbcTemplate.queryForList(
+                "SELECT present_count, absent_count, late_count FROM student_subject_statistics"
+                        + " WHERE student_id = ? AND subject_id = ?", studentId, subjectId),
+                List.of(Map.of("present_count", 0L, "absent_count", 2L, "late_count", 0L)));
+    }
+
+    private AttendanceMark mark(LocalDate date, AttendanceMark.Status status, String comment) {
+        return new AttendanceMark(studentId, subjectId, date, status, comment);
+    }
+
+    private List<List<Object>> storedMarks() {
+        return jdbcTemplate.queryForList(
+                        "SELECT attendance_date, is_present, comment FROM attendance"
+                                + " WHERE student_id = ? AND subject_id = ? ORDER BY attendance_date",
+                        studentId, subjectId).stream()
+                .map(AttendanceIngestServiceTest::toRow)
+                .toList();
+    }
+
+    private static List<Object> toRow(Map<String, Object> row) {
+        return Arrays.asList(row.get("attendance_date").toString(), row.get("is_present"), row.get("comment"));
+    }
+}
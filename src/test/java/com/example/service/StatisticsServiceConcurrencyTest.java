@@ -0,0 +1,147 @@
+package com.example.service;
+
+import com.example.dto.AttendanceMark;
+import com.example.model.AcademicPerformance;
+import com.example.model.Student;
+import com.example.model.Subject;
+import com.example.repository.AcademicPerformanceRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Параллельные записи статистики на PostgreSQL: новые оценки (пересчет пары после фиксации),
+ * прием посещаемости, пересчет предмета и полный пересчет выполняются одновременно.
+ * После них статистика должна совпадать с пересчетом по исходным таблицам: ни одна запись
+ * не учтена дважды, и ни одна запись не завершилась нарушением первичного ключа.
+ */
+public class StatisticsServiceConcurrencyTest extends AbstractPostgresTest {
+
+    private static final int STUDENTS = 10;
+    private static final int ITERATIONS = 200;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 9, 1);
+    private static final String[] WORK_TYPES = {"Экзамен", "Контрольная работа", "Лабораторная работа"};
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private AttendanceIngestService attendanceIngestService;
+
+    @Autowired
+    private AcademicPerformanceRepository academicPerformanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long subjectId;
+    private List<Long> studentIds;
+
+    @BeforeMethod
+    public void createSubject() {
+        subjectId = jdbcTemplate.queryForObject(
+                "INSERT INTO subjects (subject_name, semester) VALUES ('Тест параллельной записи', 1)"
+                        + " RETURNING subject_id", Long.class);
+        studentIds = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds.add(jdbcTemplate.queryForObject(
+                    "INSERT INTO students (full_name) VALUES ('Студент " + i + "') RETURNING student_id", Long.class));
+        }
+    }
+
+    @AfterMethod
+    public void deleteSubject() {
+        jdbcTemplate.update("DELETE FROM student_subject_statistics WHERE subject_id = ?", subjectId);
+        jdbcTemplate.update("DELETE FROM academic_performance WHERE subject_id = ?", subjectId);
+        jdbcTemplate.update("DELETE FROM attendance WHERE subject_id = ?", subjectId);
+        jdbcTemplate.update("DELETE FROM subjects WHERE subject_id = ?", subjectId);
+        jdbcTemplate.update("DELETE FROM students WHERE student_id = ANY(?)", (Object) studentIds.toArray(Long[]::new));
+    }
+
+    @Test(description = "Параллельные записи оставляют статистику равной пересчету по исходным таблицам")
+    public void concurrentWritersKeepStatisticsConsistent() throws Exception {
+        List<Callable<Void>> writers = List.of(
+                repeat(this::addGrade),
+                repeat(this::addGrade),
+                repeat(this::addGrade),
+                repeat(this::ingestAttendance),
+                repeat(this::ingestAttendance),
+                repeat(() -> statisticsService.rebuild(randomStudent(), subjectId)),
+                repeat(() -> statisticsService.rebuildSubject(subjectId, studentIds)),
+                repeat(statisticsService::rebuildAll));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers.size())) {
+            for (Future<Void> future : executor.invokeAll(writers)) {
+                future.get();
+            }
+        }
+
+        List<Map<String, Object>> actual = statisticsRows();
+        statisticsService.rebuildSubject(subjectId, studentIds);
+        Assert.assertFalse(actual.isEmpty());
+        Assert.assertEquals(actual, statisticsRows());
+    }
+
+    private Callable<Void> repeat(Runnable writer) {
+        return () -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                writer.run();
+            }
+            return null;
+        };
+    }
+
+    private void addGrade() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        transactionTemplate.executeWithoutResult(status -> {
+            AcademicPerformance grade = new AcademicPerformance();
+            grade.setStudent(entityManager.getReference(Student.class, randomStudent()));
+            grade.setSubject(entityManager.getReference(Subject.class, subjectId));
+            grade.setGrade(2 + random.nextInt(4));
+            grade.setWorkType(WORK_TYPES[random.nextInt(WORK_TYPES.length)]);
+            grade.setAssessmentDate(FIRST_DAY.plusDays(random.nextInt(120)));
+            academicPerformanceRepository.save(grade);
+        });
+    }
+
+    private void ingestAttendance() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate date = FIRST_DAY.plusDays(random.nextInt(120));
+        List<AttendanceMark> marks = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            AttendanceMark.Status status = AttendanceMark.Status.values()[random.nextInt(3)];
+            marks.add(new AttendanceMark(studentId, subjectId, date, status, null));
+        }
+        Assert.assertEquals(attendanceIngestService.ingest(marks).rejected(), 0);
+    }
+
+    private Long randomStudent() {
+        return studentIds.get(ThreadLocalRandom.current().nextInt(studentIds.size()));
+    }
+
+    private List<Map<String, Object>> statisticsRows() {
+        return jdbcTemplate.queryForList(
+                "SELECT * FROM student_subject_statistics WHERE subject_id = ? ORDER BY student_id", subjectId);
+    }
+}
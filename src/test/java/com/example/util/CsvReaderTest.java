@@ -0,0 +1,84 @@
+package com.example.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тесты потокового чтения CSV: определение разделителя, метка порядка байтов и поля в кавычках.
+ */
+public class CsvReaderTest {
+
+    @Test(description = "Точка с запятой в заголовке выбирается разделителем")
+    public void semicolonIsDetectedFromHeader() throws IOException {
+        List<List<String>> records = readAll("ticket;subject;comment\nT1;Математика;a,b\n");
+
+        Assert.assertEquals(records, List.of(
+                List.of("ticket", "subject", "comment"),
+                List.of("T1", "Математика", "a,b")));
+    }
+
+    @Test(description = "Без точки с запятой в заголовке разделитель - запятая")
+    public void commaIsUsedWithoutSemicolonInHeader() throws IOException {
+        List<List<String>> records = readAll("ticket,subject\nT1,Математика;Физика\n");
+
+        Assert.assertEquals(records, List.of(
+                List.of("ticket", "subject"),
+                List.of("T1", "Математика;Физика")));
+    }
+
+    @Test(description = "Метка порядка байтов пропускается")
+    public void byteOrderMarkIsSkipped() throws IOException {
+        List<List<String>> records = readAll("\uFEFFticket;grade\r\nT1;5\r\n");
+
+        Assert.assertEquals(records, List.of(List.of("ticket", "grade"), List.of("T1", "5")));
+    }
+
+    @Test(description = "Поля в кавычках сохраняют разделители, кавычки и переводы строк")
+    public void quotedFieldsKeepDelimitersQuotesAndLineBreaks() throws IOException {
+        CsvReader csv = reader("ticket;comment;grade\n"
+                + "T1;\"сдал; с \"\"отличием\"\"\nпересдача\";5\n"
+                + "T2;\"\";4\n");
+
+        Assert.assertEquals(csv.next(), List.of("ticket", "comment", "grade"));
+        Assert.assertEquals(csv.next(), List.of("T1", "сдал; с \"отличием\"\nпересдача", "5"));
+        Assert.assertEquals(csv.getLineNumber(), 3);
+        Assert.assertEquals(csv.next(), List.of("T2", "", "4"));
+        Assert.assertEquals(csv.getLineNumber(), 4);
+        Assert.assertNull(csv.next());
+    }
+
+    @Test(description = "Пустые строки пропускаются, последняя строка может быть без перевода строки")
+    public void blankLinesAreSkippedAndLastLineMayLackLineBreak() throws IOException {
+        List<List<String>> records = readAll("ticket;grade\n\nT1;5\n\r\nT2;4");
+
+        Assert.assertEquals(records, List.of(List.of("ticket", "grade"), List.of("T1", "5"), List.of("T2", "4")));
+    }
+
+    @Test(description = "Незакрытая кавычка отклоняется с номером строки начала записи")
+    public void unclosedQuoteIsRejected() throws IOException {
+        CsvReader csv = reader("ticket;comment\nT1;\"без конца\n");
+        csv.next();
+
+        IOException error = Assert.expectThrows(IOException.class, csv::next);
+        Assert.assertTrue(error.getMessage().contains("строке 2"), error.getMessage());
+    }
+
+    private static List<List<String>> readAll(String content) throws IOException {
+        CsvReader csv = reader(content);
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = csv.next(); record != null; record = csv.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static CsvReader reader(String content) {
+        return new CsvReader(new BufferedReader(new StringReader(content)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Тесты записи CSV: чтение записанного файла через CsvReader и защита от CSV-инъекции.
+ */
+public class CsvWriterTest {
+
+    @Test(description = "Записанные поля читаются CsvReader без изменений")
+    public void writtenRecordsAreReadBack() throws IOException {
+        List<List<Object>> records = List.of(
+                List.of("record_type", "date", "grade", "comment"),
+                Arrays.asList("grade", LocalDate.of(2024, 1, 10), 5, "с разделителем; и \"кавычками\""),
+                Arrays.asList("grade", LocalDate.of(2024, 1, 11), 4, "две\r\nстроки"),
+                Arrays.asList("attendance", LocalDate.of(2024, 1, 12), null, null));
+
+        Assert.assertEquals(roundTrip(';', records), List.of(
+                List.of("record_type", "date", "grade", "comment"),
+                List.of("grade", "2024-01-10", "5", "с разделителем; и \"кавычками\""),
+                List.of("grade", "2024-01-11", "4", "две\r\nстроки"),
+                List.of("attendance", "2024-01-12", "", "")));
+    }
+
+    @Test(description = "Файл с разделителем-запятой читается CsvReader без изменений")
+    public void commaDelimitedRecordsAreReadBack() throws IOException {
+        List<List<Object>> records = List.of(
+                List.of("subject", "comment"),
+                List.of("Математика", "a, b; c"));
+
+        Assert.assertEquals(roundTrip(',', records), List.of(
+                List.of("subject", "comment"),
+                List.of("Математика", "a, b; c")));
+    }
+
+    @Test(description = "Поля, похожие на формулы, записываются с апострофом")
+    public void formulaLikeFieldsArePrefixedWithApostrophe() throws IOException {
+        List<List<Object>> records = List.of(
+                List.of("comment"),
+                List.of("=HYPERLINK(\"http://example.com\")"),
+                List.of("+1"),
+                List.of("-2"),
+                List.of("@SUM(A1)"),
+                List.of("\tTAB"),
+                List.of("не формула = 1"));
+
+        Assert.assertEquals(roundTrip(';', records), List.of(
+                List.of("comment"),
+                List.of("'=HYPERLINK(\"http://example.com\")"),
+                List.of("'+1"),
+                List.of("'-2"),
+                List.of("'@SUM(A1)"),
+                List.of("'\tTAB"),
+                List.of("не формула = 1")));
+    }
+
+    private static List<List<String>> roundTrip(char delimiter, List<List<Object>> records) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out, delimiter);
+        for (List<Object> record : records) {
+            writer.write(record.toArray());
+        }
+        writer.flush();
+
+        CsvReader reader = new CsvReader(new BufferedReader(new StringReader(out.toString())));
+        List<List<String>> read = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            read.add(record);
+        }
+        return read;
+    }
+}
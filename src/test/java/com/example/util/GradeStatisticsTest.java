@@ -0,0 +1,98 @@
+package com.example.util;
+
+import com.example.repository.StudentSubjectStatisticsRepository;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Тесты накопителя статистики оценок и согласованности весов типов работ с SQL пересчета статистики.
+ */
+public class GradeStatisticsTest {
+
+    private static final Pattern SQL_WEIGHT = Pattern.compile("WHEN (?:work_type = )?'([^']+)' THEN (\\d+\\.\\d+)");
+    private static final Pattern SQL_DEFAULT_WEIGHT = Pattern.compile("ELSE (\\d+\\.\\d+) END");
+
+    @Test(description = "Пустой набор оценок не имеет среднего")
+    public void emptyInputHasNoAverage() {
+        GradeStatistics statistics = GradeStatistics.of(null);
+
+        Assert.assertEquals(statistics.getTotalCount(), 0);
+        Assert.assertNull(statistics.getAverageGrade());
+        Assert.assertEquals(statistics.getMinGrade(), 0);
+        Assert.assertEquals(statistics.getMaxGrade(), 0);
+        Assert.assertNull(statistics.getLastGrade());
+    }
+
+    @Test(description = "Записи без оценки учитываются в количестве, но не в среднем")
+    public void recordsWithoutGradeAreCountedButNotAveraged() {
+        GradeStatistics statistics = new GradeStatistics();
+        statistics.add(null, "Экзамен", LocalDate.of(2024, 1, 10));
+
+        Assert.assertEquals(statistics.getTotalCount(), 1);
+        Assert.assertNull(statistics.getAverageGrade());
+        Assert.assertNull(statistics.getLastGrade());
+    }
+
+    @Test(description = "Среднее взвешивается по типу работы")
+    public void averageIsWeightedByWorkType() {
+        GradeStatistics statistics = new GradeStatistics();
+        statistics.add(5, "Экзамен", LocalDate.of(2024, 1, 20));
+        statistics.add(3, "Контрольная работа", LocalDate.of(2024, 1, 10));
+        statistics.add(2, "Урок", LocalDate.of(2024, 1, 5));
+
+        // (5 * 3 + 3 * 2 + 2 * 1) / (3 + 2 + 1) = 23 / 6
+        Assert.assertEquals(statistics.getAverageGrade(), 3.83);
+        Assert.assertEquals(statistics.getMinGrade(), 2);
+        Assert.assertEquals(statistics.getMaxGrade(), 5);
+        Assert.assertEquals(statistics.getLastGrade(), Integer.valueOf(5));
+        Assert.assertEquals(statistics.getExcellentCount(), 1);
+        Assert.assertEquals(statistics.getSatisfactoryCount(), 1);
+        Assert.assertEquals(statistics.getUnsatisfactoryCount(), 1);
+        Assert.assertEquals(statistics.getGradeCount(3), 1);
+    }
+
+    @Test(description = "Неизвестный тип работы имеет вес по умолчанию")
+    public void unknownWorkTypeHasDefaultWeight() {
+        Assert.assertEquals(GradeStatistics.weightOf("Лабораторная работа"), 1.0);
+        Assert.assertEquals(GradeStatistics.weightOf(null), 1.0);
+
+        GradeStatistics statistics = new GradeStatistics();
+        statistics.add(5, "Лабораторная работа", null);
+        statistics.add(3, null, null);
+
+        Assert.assertEquals(statistics.getAverageGrade(), 4.0);
+    }
+
+    @Test(description = "Веса типов работ в SQL пересчета статистики совпадают с весами в Java")
+    public void sqlWeightsMatchJavaWeights() {
+        String sql = StudentSubjectStatisticsRepository.SOURCE_ROWS;
+        Map<String, Double> sqlWeights = new HashMap<>();
+        Matcher weight = SQL_WEIGHT.matcher(sql);
+        while (weight.find()) {
+            Double previous = sqlWeights.put(weight.group(1), Double.parseDouble(weight.group(2)));
+            if (previous != null) {
+                Assert.assertEquals(previous, Double.parseDouble(weight.group(2)),
+                        "вес '" + weight.group(1) + "' в разных CASE");
+            }
+        }
+        Matcher defaultWeight = SQL_DEFAULT_WEIGHT.matcher(sql);
+        while (defaultWeight.find()) {
+            Assert.assertEquals(Double.parseDouble(defaultWeight.group(1)), GradeStatistics.weightOf(null));
+        }
+
+        Assert.assertFalse(sqlWeights.isEmpty(), "веса в SQL");
+        sqlWeights.forEach((workType, value) ->
+                Assert.assertEquals(GradeStatistics.weightOf(workType), value, "вес '" + workType + "'"));
+        GradeStatistics.WORK_TYPE_WEIGHTS.forEach((workType, value) -> {
+            if (value != GradeStatistics.weightOf(null)) {
+                Assert.assertEquals(sqlWeights.get(workType), value, "вес '" + workType + "' в SQL");
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+-- Набор данных теста числа SQL-запросов: 3 группы по 30 студентов, 24 предмета в 8 семестрах,
+-- по 8 оценок и 16 отметок посещаемости на каждую пару студент-предмет.
+-- Пароль всех студентов: password.
+
+-- Таблица не отображается на сущность, поэтому Hibernate ее не создает (см. V4__data_version.sql)
+CREATE TABLE IF NOT EXISTS data_version (id SMALLINT PRIMARY KEY, version BIGINT NOT NULL);
+MERGE INTO data_version (id, version) KEY (id) VALUES (1, 0);
+
+INSERT INTO roles (role_name) VALUES ('Students');
+
+INSERT INTO groups (group_name, speciality_code) VALUES
+    ('ИСС9-124', '09.02.07'),
+    ('ИСС9-224', '09.02.07'),
+    ('ИСП9-124', '09.02.03');
+
+INSERT INTO students (full_name, student_ticket_number, password_hash, group_id, role_id)
+SELECT 'Студент ' || x,
+       'ИСС-' || (1000 + x),
+       '$2a$04$dbuOXEqNwD2IwBerr0/JXexnev.a6byS.R7/DIGe3PENjBamZieWe',
+       1 + MOD(x - 1, 3),
+       1
+FROM SYSTEM_RANGE(1, 90) r(x);
+
+INSERT INTO teachers (full_name, password_hash, role_id)
+SELECT 'Преподаватель ' || x, NULL, NULL
+FROM SYSTEM_RANGE(1, 12) r(x);
+
+INSERT INTO subjects (subject_name, max_study_load, assessment_form, semester)
+SELECT 'Предмет ' || x,
+       72,
+       CASE WHEN MOD(x, 2) = 0 THEN 'Экзамен' ELSE 'Зачет' END,
+       1 + MOD(x - 1, 8)
+FROM SYSTEM_RANGE(1, 24) r(x);
+
+INSERT INTO teacher_subject (subject_id, teacher_id)
+SELECT x, 1 + MOD(x - 1, 12) FROM SYSTEM_RANGE(1, 24) r(x)
+UNION
+SELECT x, 1 + MOD(x, 12) FROM SYSTEM_RANGE(1, 24) r(x);
+
+INSERT INTO academic_performance (student_id, subject_id, grade, work_type, assessment_date, comment)
+SELECT st.student_id,
+       sb.subject_id,
+       2 + MOD(st.student_id * 7 + sb.subject_id * 3 + r.x, 4),
+       CASE MOD(r.x, 4)
+           WHEN 0 THEN 'Экзамен'
+           WHEN 1 THEN 'Урок'
+           WHEN 2 THEN 'Контрольная работа'
+           ELSE 'Домашнее задание' END,
+       DATEADD('DAY', sb.semester * 180 + r.x * 7, DATE '2021-09-01'),
+       NULL
+FROM students st
+CROSS JOIN subjects sb
+CROSS JOIN SYSTEM_RANGE(1, 8) r(x);
+
+INSERT INTO attendance (student_id, subject_id, attendance_date, is_present, comment)
+SELECT st.student_id,
+       sb.subject_id,
+       DATEADD('DAY', sb.semester * 180 + r.x * 3, DATE '2021-09-01'),
+       CASE MOD(st.student_id + sb.subject_id + r.x, 10)
+           WHEN 0 THEN FALSE
+           WHEN 1 THEN NULL
+           ELSE TRUE END,
+       NULL
+FROM students st
+CROSS JOIN subjects sb
+CROSS JOIN SYSTEM_RANGE(1, 16) r(x);